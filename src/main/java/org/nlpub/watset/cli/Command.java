@@ -22,18 +22,31 @@ import com.beust.jcommander.Parameter;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.util.VertexToIntegerMapping;
+import org.nlpub.watset.graph.EmbeddingMatrix;
 import org.nlpub.watset.util.ABCFormat;
+import org.nlpub.watset.util.EmbeddingCache;
+import org.nlpub.watset.util.FastRandomProjection;
+import org.nlpub.watset.util.Matrices;
+import org.nlpub.watset.util.NpyFormat;
+import org.nlpub.watset.util.Word2VecFormat;
 
 import java.io.*;
 import java.lang.System.Logger.Level;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -57,11 +70,16 @@ abstract class Command implements Runnable {
         @Parameter(names = {"-o", "--output"}, description = "Output file")
         public Path output;
 
+        /**
+         * The unseeded random number generator used if the seed is not specified.
+         */
+        private final JDKRandomGenerator unseeded = new JDKRandomGenerator();
+
         /**
          * The random seed.
          */
-        @Parameter(names = {"-s", "--seed"}, description = "Random seed", converter = RandomConverter.class)
-        public JDKRandomGenerator random = new JDKRandomGenerator();
+        @Parameter(names = {"-s", "--seed"}, description = "Random seed (the cached randomized embeddings use " + CacheParameters.SEED + " by default)", converter = RandomConverter.class)
+        public JDKRandomGenerator random = unseeded;
 
         /**
          * m
@@ -69,6 +87,15 @@ abstract class Command implements Runnable {
          */
         @Parameter(names = {"-v", "--version"}, description = "Print version information")
         public boolean version;
+
+        /**
+         * Check whether the random seed is specified.
+         *
+         * @return {@code true} if the seed is specified
+         */
+        public boolean isSeeded() {
+            return random != unseeded;
+        }
     }
 
     /**
@@ -84,6 +111,253 @@ abstract class Command implements Runnable {
         public Integer k;
     }
 
+    /**
+     * Node embedding parameters.
+     */
+    @SuppressWarnings("unused")
+    public final static class EmbeddingParameters {
+        /**
+         * The embedding mode.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Embedding mode", names = {"-m", "--mode"})
+        public EmbeddingMode mode = EmbeddingMode.SPECTRAL;
+
+        /**
+         * The weights of the FastRP hops.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Weights of FastRP hops", names = "--weights")
+        public List<Double> weights = Arrays.stream(FastRandomProjection.WEIGHTS).boxed().collect(Collectors.toList());
+
+        /**
+         * The FastRP degree normalization strength.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "FastRP degree normalization strength", names = "--beta")
+        public double beta;
+
+        /**
+         * Compute the node embeddings as specified by these parameters.
+         *
+         * @param graph    the graph
+         * @param mapping  the mapping
+         * @param k        the number of dimensions
+         * @param spectral the spectral embedding parameters
+         * @param random   the random number generator
+         * @param <V>      the type of nodes in the graph
+         * @return the node embeddings
+         */
+        public <V> EmbeddingMatrix<V> computeEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k, SpectralParameters spectral, Random random) {
+            return computeEmbedding(graph, mapping, k, spectral, new CacheParameters(), random);
+        }
+
+        /**
+         * Compute the node embeddings as specified by these parameters, reusing the cached ones if possible.
+         *
+         * @param graph    the graph
+         * @param mapping  the mapping
+         * @param k        the number of dimensions
+         * @param spectral the spectral embedding parameters
+         * @param cache    the cache parameters
+         * @param random   the random number generator
+         * @param <V>      the type of nodes in the graph
+         * @return the node embeddings
+         */
+        public <V> EmbeddingMatrix<V> computeEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k, SpectralParameters spectral, CacheParameters cache, Random random) {
+            switch (mode) {
+                case SPECTRAL:
+                    return spectral.computeEmbedding(graph, mapping, k, cache, random);
+                case FASTRP:
+                    final var hops = weights.stream().mapToDouble(Double::doubleValue).toArray();
+                    final long seed = random.nextLong();
+                    return cache.computeIfAbsent(graph, mapping, "fastrp k=" + k + " weights=" + Arrays.toString(hops) + " beta=" + beta + " seed=" + seed,
+                            () -> new FastRandomProjection(k, hops, beta, seed).embed(graph, mapping));
+                default:
+                    throw new IllegalArgumentException("Unknown embedding mode: " + mode);
+            }
+        }
+    }
+
+    /**
+     * Node embedding output parameters.
+     */
+    @SuppressWarnings("unused")
+    public final static class EmbeddingOutputParameters {
+        /**
+         * The output format.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Output format", names = "--format")
+        public EmbeddingFormat format = EmbeddingFormat.WORD2VEC;
+
+        /**
+         * The data type of the NumPy matrix.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Data type of NumPy output", names = "--dtype")
+        public NpyFormat.DataType dtype = NpyFormat.DataType.FLOAT32;
+
+        /**
+         * The vocabulary file of the NumPy matrix.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Vocabulary file of NumPy output (the output file with the .vocab suffix by default)", names = "--vocabulary")
+        public Path vocabulary;
+    }
+
+    /**
+     * Node embedding output formats.
+     */
+    public enum EmbeddingFormat {
+        /**
+         * Word2Vec text format.
+         *
+         * @see Word2VecFormat
+         */
+        WORD2VEC,
+
+        /**
+         * Word2Vec binary format.
+         *
+         * @see Word2VecFormat
+         */
+        WORD2VEC_BINARY,
+
+        /**
+         * NumPy matrix and vocabulary file.
+         *
+         * @see NpyFormat
+         */
+        NPY
+    }
+
+    /**
+     * Embedding cache parameters.
+     */
+    @SuppressWarnings("unused")
+    public final static class CacheParameters {
+        /**
+         * The seed of the randomized embeddings that are cached when the seed is not specified,
+         * so the cache keys containing the seed are the same in every run.
+         */
+        public static final int SEED = 1337;
+
+        /**
+         * The cache directory.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Directory for caching the embeddings (the randomized embeddings are seeded with " + SEED + " unless the seed is specified)", names = "--cache")
+        public Path directory;
+
+        /**
+         * Get the random number generator for the embeddings. If the cache directory is set and
+         * the seed is not specified, the generator is seeded with {@link #SEED}, so the cache can be reused.
+         *
+         * @param parameters the main parameters
+         * @return the random number generator
+         */
+        public JDKRandomGenerator getRandom(MainParameters parameters) {
+            return nonNull(directory) && !parameters.isSeeded() ? new JDKRandomGenerator(SEED) : parameters.random;
+        }
+
+        /**
+         * Get the cached embedding of the graph or compute it, if the cache directory is set.
+         *
+         * @param graph      the graph
+         * @param mapping    the mapping
+         * @param parameters the description of the embedding parameters
+         * @param supplier   the embedding computation
+         * @param <V>        the type of nodes in the graph
+         * @return the node embeddings
+         * @see EmbeddingCache#computeIfAbsent(Graph, VertexToIntegerMapping, String, Supplier)
+         */
+        public <V> EmbeddingMatrix<V> computeIfAbsent(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, String parameters, Supplier<EmbeddingMatrix<V>> supplier) {
+            if (isNull(directory)) return supplier.get();
+            return new EmbeddingCache(directory).computeIfAbsent(graph, mapping, parameters, supplier);
+        }
+    }
+
+    /**
+     * Node embedding modes.
+     */
+    public enum EmbeddingMode {
+        /**
+         * Spectral embedding.
+         */
+        SPECTRAL,
+
+        /**
+         * FastRP random projection embedding.
+         */
+        FASTRP
+    }
+
+    /**
+     * Spectral embedding parameters.
+     */
+    @SuppressWarnings("unused")
+    public final static class SpectralParameters {
+        /**
+         * The eigensolver for the graph Laplacian.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Eigensolver for the graph Laplacian", names = "--eigensolver")
+        public Matrices.Eigensolver eigensolver = Matrices.Eigensolver.DENSE;
+
+        /**
+         * The number of landmarks for the approximate Nyström embedding.
+         */
+        @SuppressWarnings("unused")
+        @Parameter(description = "Number of landmarks for Nystrom approximation (0 for exact embedding)", names = "--landmarks")
+        public int landmarks;
+
+        /**
+         * Compute spectral embedding of the graph nodes as specified by these parameters.
+         *
+         * @param graph   the graph
+         * @param mapping the mapping
+         * @param k       the number of dimensions
+         * @param random  the random number generator
+         * @param <V>     the type of nodes in the graph
+         * @return spectral embeddings of the graph nodes
+         */
+        public <V> EmbeddingMatrix<V> computeEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k, Random random) {
+            if (landmarks > 0) {
+                final int m = Math.min(landmarks, graph.vertexSet().size());
+                return Matrices.computeNystromSpectralEmbedding(graph, mapping, k, m, random);
+            }
+
+            return Matrices.computeSpectralEmbedding(graph, mapping, k, eigensolver);
+        }
+
+        /**
+         * Compute spectral embedding of the graph nodes as specified by these parameters,
+         * reusing the cached one if possible. The Nyström approximation is then
+         * seeded by a number drawn from {@code random} that is a part of the cache key.
+         *
+         * @param graph   the graph
+         * @param mapping the mapping
+         * @param k       the number of dimensions
+         * @param cache   the cache parameters
+         * @param random  the random number generator
+         * @param <V>     the type of nodes in the graph
+         * @return spectral embeddings of the graph nodes
+         */
+        public <V> EmbeddingMatrix<V> computeEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k, CacheParameters cache, Random random) {
+            if (isNull(cache.directory)) return computeEmbedding(graph, mapping, k, random);
+
+            if (landmarks > 0) {
+                final long seed = random.nextLong();
+                return cache.computeIfAbsent(graph, mapping, "nystrom k=" + k + " landmarks=" + landmarks + " seed=" + seed,
+                        () -> computeEmbedding(graph, mapping, k, new Random(seed)));
+            }
+
+            return cache.computeIfAbsent(graph, mapping, "spectral k=" + k + " eigensolver=" + eigensolver,
+                    () -> computeEmbedding(graph, mapping, k, random));
+        }
+    }
+
     /**
      * Local clustering command-line interface parameters.
      */
@@ -185,6 +459,73 @@ abstract class Command implements Runnable {
         return Files.newBufferedWriter(parameters.output);
     }
 
+    /**
+     * Provide a byte stream to the output file.
+     *
+     * @return a new output stream to write output
+     * @throws IOException if an I/O error occurs
+     */
+    public OutputStream newOutputStream() throws IOException {
+        requireNonNull(parameters, "parameters are not initialized");
+
+        if (isNull(parameters.output)) {
+            logger.log(Level.INFO, "Writing to standard output.");
+            return new FileOutputStream(FileDescriptor.out);
+        }
+
+        logger.log(Level.INFO, "Writing to {0}.", parameters.output);
+        return Files.newOutputStream(parameters.output);
+    }
+
+    /**
+     * Write the node embeddings to the output file in the specified format.
+     *
+     * @param embeddings the embeddings
+     * @param output     the output parameters
+     * @param <V>        the type of nodes in the graph
+     */
+    public <V> void writeEmbeddings(EmbeddingMatrix<V> embeddings, EmbeddingOutputParameters output) {
+        try {
+            switch (output.format) {
+                case WORD2VEC:
+                    try (final var stream = newOutputStream()) {
+                        Word2VecFormat.writeText(stream, embeddings, Word2VecFormat.SpaceStrategy.REPLACE);
+                    }
+                    break;
+                case WORD2VEC_BINARY:
+                    try (final var stream = newOutputStream()) {
+                        Word2VecFormat.writeBinary(stream, embeddings, Word2VecFormat.SpaceStrategy.REPLACE);
+                    }
+                    break;
+                case NPY:
+                    var vocabulary = output.vocabulary;
+
+                    if (isNull(vocabulary)) {
+                        if (isNull(parameters.output)) {
+                            throw new IllegalArgumentException("Vocabulary file must be specified when writing to standard output");
+                        }
+
+                        vocabulary = parameters.output.resolveSibling(parameters.output.getFileName() + ".vocab");
+                    }
+
+                    try (final var stream = newOutputStream()) {
+                        NpyFormat.write(stream, embeddings, output.dtype);
+                    }
+
+                    logger.log(Level.INFO, "Writing vocabulary to {0}.", vocabulary);
+
+                    try (final var writer = Files.newBufferedWriter(vocabulary)) {
+                        NpyFormat.writeVocabulary(writer, embeddings);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown embedding format: " + output.format);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Read, parse, and return the input graph stored in {@link MainParameters#input}.
      *
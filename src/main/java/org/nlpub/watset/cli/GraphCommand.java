@@ -21,13 +21,14 @@ import com.beust.jcommander.Parameters;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.nlpub.watset.graph.EmptyClustering;
+import org.nlpub.watset.util.ABCFormat;
 import org.nlpub.watset.util.ClusteringAlgorithmProvider;
+import org.nlpub.watset.util.EdgeListWriter;
 import org.nlpub.watset.util.IndexedSense;
 import org.nlpub.watset.util.Sense;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.Locale;
 
 /**
  * A command that builds a sense graph with Watset.
@@ -62,16 +63,11 @@ class GraphCommand extends LocalWatsetCommand {
     }
 
     private void write(Graph<Sense<String>, DefaultWeightedEdge> graph) throws IOException {
-        try (final var writer = newOutputWriter()) {
-            for (final var edge : graph.edgeSet()) {
-                final var source = (IndexedSense<String>) graph.getEdgeSource(edge);
-                final var target = (IndexedSense<String>) graph.getEdgeTarget(edge);
-
-                writer.write(String.format(Locale.ROOT, "%s#%d\t%s#%d\t%f%n",
-                        source.get(), source.getSense(),
-                        target.get(), target.getSense(),
-                        graph.getEdgeWeight(edge)));
-            }
+        try (final var writer = new EdgeListWriter(newOutputStream())) {
+            ABCFormat.write(graph, writer, sense -> {
+                final var indexed = (IndexedSense<String>) sense;
+                return indexed.get() + "#" + indexed.getSense();
+            });
         }
     }
 }
@@ -40,6 +40,10 @@ class MarkovClusteringExternalCommand extends ClusteringCommand {
     @Parameter(description = "Path to binary mcl", names = "--bin")
     private Path binary;
 
+    @SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+    @Parameter(description = "Matrix format", names = "--format")
+    private MarkovClusteringExternal.Format format = MarkovClusteringExternal.Format.ABC;
+
     /**
      * Create an instance of command.
      *
@@ -52,7 +56,8 @@ class MarkovClusteringExternalCommand extends ClusteringCommand {
     @Override
     public ClusteringAlgorithm<String> getAlgorithm() {
         final var builder = MarkovClusteringExternal.<String, DefaultWeightedEdge>builder().
-                setR(r);
+                setR(r).
+                setFormat(format);
 
         if (nonNull(binary)) builder.setPath(binary);
 
@@ -21,11 +21,6 @@ import com.beust.jcommander.Parameters;
 import com.beust.jcommander.ParametersDelegate;
 import org.jgrapht.Graphs;
 import org.nlpub.watset.graph.EmptyClustering;
-import org.nlpub.watset.util.Matrices;
-import org.nlpub.watset.util.Word2VecFormat;
-
-import java.io.IOException;
-import java.io.UncheckedIOException;
 
 /**
  * A command that computes the Watset sense graph embeddings.
@@ -39,6 +34,34 @@ class SenseEmbeddingCommand extends LocalWatsetCommand {
     @ParametersDelegate
     public Command.FixedClustersParameters fixed = new Command.FixedClustersParameters();
 
+    /**
+     * The spectral embedding parameters.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @ParametersDelegate
+    public Command.SpectralParameters spectral = new Command.SpectralParameters();
+
+    /**
+     * The node embedding parameters.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @ParametersDelegate
+    public Command.EmbeddingParameters embedding = new Command.EmbeddingParameters();
+
+    /**
+     * The embedding cache parameters.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @ParametersDelegate
+    public Command.CacheParameters cache = new Command.CacheParameters();
+
+    /**
+     * The embedding output parameters.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @ParametersDelegate
+    public Command.EmbeddingOutputParameters output = new Command.EmbeddingOutputParameters();
+
     /**
      * Create an instance of command.
      *
@@ -53,12 +76,8 @@ class SenseEmbeddingCommand extends LocalWatsetCommand {
         final var watset = getWatset(getAlgorithm(), EmptyClustering.builder(), getGraph());
         final var graph = watset.getClustering().getSenseGraph();
         final var mapping = Graphs.getVertexToIntegerMapping(graph);
-        final var embedding = Matrices.computeSpectralEmbedding(graph, mapping, fixed.k);
+        final var embeddings = embedding.computeEmbedding(graph, mapping, fixed.k, spectral, cache, cache.getRandom(parameters));
 
-        try (final var writer = newOutputWriter()) {
-            Word2VecFormat.write(writer, embedding, Word2VecFormat.SpaceStrategy.REPLACE);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        writeEmbeddings(embeddings, output);
     }
 }
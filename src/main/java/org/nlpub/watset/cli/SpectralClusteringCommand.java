@@ -20,14 +20,15 @@ package org.nlpub.watset.cli;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.beust.jcommander.ParametersDelegate;
-import org.apache.commons.math3.ml.clustering.KMeansPlusPlusClusterer;
-import org.apache.commons.math3.ml.clustering.MultiKMeansPlusPlusClusterer;
-import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.jgrapht.Graphs;
 import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.nlpub.watset.graph.NodeEmbedding;
+import org.nlpub.watset.graph.ParallelMultiKMeansClusterer;
 import org.nlpub.watset.graph.SpectralClustering;
 
+import static java.util.Objects.nonNull;
+
 /**
  * A command that runs the spectral clustering algorithm.
  */
@@ -40,6 +41,20 @@ class SpectralClusteringCommand extends ClusteringCommand {
     @ParametersDelegate
     public Command.FixedClustersParameters fixed = new Command.FixedClustersParameters();
 
+    /**
+     * The spectral embedding parameters.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @ParametersDelegate
+    public Command.SpectralParameters spectral = new Command.SpectralParameters();
+
+    /**
+     * The embedding cache parameters.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @ParametersDelegate
+    public Command.CacheParameters cache = new Command.CacheParameters();
+
     /**
      * The desired number of k-means runs.
      */
@@ -47,6 +62,13 @@ class SpectralClusteringCommand extends ClusteringCommand {
     @Parameter(description = "Number of k-means runs", names = "-n")
     public int n = 10;
 
+    /**
+     * The number of threads for the k-means runs.
+     */
+    @SuppressWarnings("CanBeFinal")
+    @Parameter(description = "Number of threads for k-means runs", names = "--threads")
+    public int threads = Runtime.getRuntime().availableProcessors();
+
     /**
      * Create an instance of command.
      *
@@ -58,8 +80,16 @@ class SpectralClusteringCommand extends ClusteringCommand {
 
     @Override
     public ClusteringAlgorithm<String> getAlgorithm() {
-        final var clusterer = new KMeansPlusPlusClusterer<NodeEmbedding<String>>(fixed.k, -1, new EuclideanDistance(), parameters.random);
-        final var metaClusterer = new MultiKMeansPlusPlusClusterer<>(clusterer, n);
-        return SpectralClustering.<String, DefaultWeightedEdge>builder().setClusterer(metaClusterer).setK(fixed.k).apply(getGraph());
+        final var metaClusterer = new ParallelMultiKMeansClusterer<NodeEmbedding<String>>(fixed.k, -1, n, threads, parameters.random);
+
+        if (nonNull(cache.directory)) {
+            final var graph = getGraph();
+            final var mapping = Graphs.getVertexToIntegerMapping(graph);
+            final var embeddings = spectral.computeEmbedding(graph, mapping, fixed.k, cache, cache.getRandom(parameters));
+            final var implementation = new SpectralClustering.Implementation<String, DefaultWeightedEdge>(metaClusterer, mapping, embeddings);
+            return implementation::compute;
+        }
+
+        return SpectralClustering.<String, DefaultWeightedEdge>builder().setClusterer(metaClusterer).setK(fixed.k).setEigensolver(spectral.eigensolver).setLandmarks(spectral.landmarks).setRandom(parameters.random).apply(getGraph());
     }
 }
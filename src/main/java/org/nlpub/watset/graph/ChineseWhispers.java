@@ -68,6 +68,11 @@ public class ChineseWhispers<V, E> implements ClusteringAlgorithm<V> {
             return new ChineseWhispers<>(graph, weighting, iterations, random);
         }
 
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.SINGLETONS;
+        }
+
         /**
          * Set the the node weighting approach.
          *
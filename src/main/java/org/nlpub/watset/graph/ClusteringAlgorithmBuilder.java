@@ -30,4 +30,13 @@ import java.util.function.Function;
  * @param <C> the type of clustering algorithm
  */
 public interface ClusteringAlgorithmBuilder<V, E, C extends ClusteringAlgorithm<V>> extends Function<Graph<V, E>, C> {
+    /**
+     * Get the clustering that the built algorithms produce for any graph without edges.
+     * The builders that know it should override this method, which allows skipping such graphs.
+     *
+     * @return the clustering of the edgeless graphs, or {@link EdgelessClustering#UNKNOWN} by default
+     */
+    default EdgelessClustering getEdgelessClustering() {
+        return EdgelessClustering.UNKNOWN;
+    }
 }
@@ -44,6 +44,11 @@ public class ComponentsClustering<V, E> implements ClusteringAlgorithm<V> {
         public ComponentsClustering<V, E> apply(Graph<V, E> graph) {
             return new ComponentsClustering<>(graph);
         }
+
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.SINGLETONS;
+        }
     }
 
     /**
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.graph;
+
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The clustering that an algorithm is known to produce for any graph without edges.
+ * <p>
+ * Many neighborhoods in sense induction have no edges at all, so {@link SenseInduction} uses this
+ * knowledge to skip building the neighborhood graph and running the local algorithm on it.
+ *
+ * @see ClusteringAlgorithmBuilder#getEdgelessClustering()
+ */
+public enum EdgelessClustering {
+    /**
+     * The clustering is not known, so the algorithm must be run.
+     */
+    UNKNOWN,
+
+    /**
+     * No clusters, as {@link EmptyClustering} returns.
+     */
+    EMPTY,
+
+    /**
+     * One cluster of all the nodes, even if there are none, as {@link TogetherClustering} returns.
+     */
+    TOGETHER,
+
+    /**
+     * One cluster per node, as {@link SingletonClustering} returns.
+     */
+    SINGLETONS;
+
+    /**
+     * Check whether the clustering is known.
+     *
+     * @return {@code true} unless this is {@link #UNKNOWN}
+     */
+    public boolean isKnown() {
+        return this != UNKNOWN;
+    }
+
+    /**
+     * Cluster the nodes of the graph without edges.
+     *
+     * @param nodes the nodes
+     * @param <V>   the type of nodes in the graph
+     * @return the clustering
+     * @throws UnsupportedOperationException if the clustering is {@link #UNKNOWN}
+     */
+    public <V> ClusteringAlgorithm.Clustering<V> cluster(Collection<V> nodes) {
+        switch (this) {
+            case EMPTY:
+                return new ClusteringAlgorithm.ClusteringImpl<>(Collections.emptyList());
+            case TOGETHER:
+                return new ClusteringAlgorithm.ClusteringImpl<>(List.of(Set.copyOf(nodes)));
+            case SINGLETONS:
+                return new ClusteringAlgorithm.ClusteringImpl<>(nodes.stream().map(Set::of).collect(Collectors.toList()));
+            default:
+                throw new UnsupportedOperationException("The clustering of edgeless graphs is unknown");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compact store of node embeddings that keeps all the coordinates in a single row-major array.
+ * <p>
+ * The coordinates of the node {@code i} are {@code data[i * dimensions], ..., data[(i + 1) * dimensions - 1]}.
+ * The elements of this list are the lightweight {@link NodeEmbedding} views over these rows that are
+ * created on access, so the consumers that need only the coordinates should prefer {@link #getData()}.
+ *
+ * @param <V> the type of nodes in the graph
+ */
+public class EmbeddingMatrix<V> extends AbstractList<NodeEmbedding<V>> implements RandomAccess {
+    /**
+     * The nodes addressed by their indices.
+     */
+    private final List<V> nodes;
+
+    /**
+     * The coordinates in the row-major order.
+     */
+    private final double[] data;
+
+    /**
+     * The number of dimensions.
+     */
+    private final int dimensions;
+
+    /**
+     * Create an instance of the embedding store.
+     *
+     * @param nodes      the nodes addressed by their indices
+     * @param data       the coordinates in the row-major order
+     * @param dimensions the number of dimensions
+     */
+    public EmbeddingMatrix(List<V> nodes, double[] data, int dimensions) {
+        if (dimensions < 1) throw new IllegalArgumentException("dimensions should be positive");
+
+        if ((long) nodes.size() * dimensions != data.length) {
+            throw new IllegalArgumentException("data do not match nodes and dimensions");
+        }
+
+        this.nodes = requireNonNull(nodes);
+        this.data = data;
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public NodeEmbedding<V> get(int index) {
+        Objects.checkIndex(index, size());
+        return new NodeEmbedding<>(nodes.get(index), data, index * dimensions, dimensions);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Get the nodes addressed by their indices.
+     *
+     * @return the nodes
+     */
+    public List<V> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Get the node.
+     *
+     * @param index the node index
+     * @return the node
+     */
+    public V getNode(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * Get the number of dimensions.
+     *
+     * @return the number of dimensions
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Get the coordinate of the node.
+     *
+     * @param index the node index
+     * @param i     the dimension
+     * @return the coordinate
+     */
+    public double getEntry(int index, int i) {
+        return data[Objects.checkIndex(index, size()) * dimensions + Objects.checkIndex(i, dimensions)];
+    }
+
+    /**
+     * Get the underlying row-major array of coordinates. It is not copied, so it must not be modified.
+     *
+     * @return the coordinates
+     */
+    public double[] getData() {
+        return data;
+    }
+}
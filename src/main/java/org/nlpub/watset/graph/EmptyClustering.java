@@ -43,6 +43,11 @@ public class EmptyClustering<V> implements ClusteringAlgorithm<V> {
             requireNonNull(graph);
             return new EmptyClustering<>();
         }
+
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.EMPTY;
+        }
     }
 
     /**
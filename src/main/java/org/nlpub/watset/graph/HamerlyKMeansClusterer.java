@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.ml.clustering.CentroidCluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.clustering.Clusterer;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exact k-means that uses Hamerly's bounds to skip most of the distance computations of Lloyd's algorithm.
+ * <p>
+ * Every point keeps an upper bound of the distance to its center and a lower bound of the distance to
+ * the second closest center. The point is compared to all the centers only if these bounds and the
+ * half-distance from its center to the closest other center cannot prove that its assignment holds.
+ * Given the same initial centers, the result is the same as of Lloyd's algorithm, except for ties.
+ * The empty clusters keep their previous centers and are omitted from the result.
+ *
+ * @param <T> the type of points to cluster
+ * @see <a href="https://doi.org/10.1137/1.9781611972801.12">Hamerly (SDM 2010)</a>
+ */
+public class HamerlyKMeansClusterer<T extends Clusterable> extends Clusterer<T> {
+    /**
+     * The number of clusters.
+     */
+    private final int k;
+
+    /**
+     * The maximal number of iterations, or a negative number for no limit.
+     */
+    private final int maxIterations;
+
+    /**
+     * The initialization strategy.
+     */
+    private final KMeansInitializer initializer;
+
+    /**
+     * The random number generator.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Create an instance of the clusterer with k-means++ initialization.
+     *
+     * @param k             the number of clusters
+     * @param maxIterations the maximal number of iterations, or a negative number for no limit
+     * @param random        the random number generator
+     */
+    public HamerlyKMeansClusterer(int k, int maxIterations, RandomGenerator random) {
+        this(k, maxIterations, new KMeansPlusPlusInitializer(), random);
+    }
+
+    /**
+     * Create an instance of the clusterer.
+     *
+     * @param k             the number of clusters
+     * @param maxIterations the maximal number of iterations, or a negative number for no limit
+     * @param initializer   the initialization strategy
+     * @param random        the random number generator
+     */
+    public HamerlyKMeansClusterer(int k, int maxIterations, KMeansInitializer initializer, RandomGenerator random) {
+        super(new EuclideanDistance());
+
+        if (k < 1) throw new IllegalArgumentException("k should be positive");
+
+        this.k = k;
+        this.maxIterations = maxIterations;
+        this.initializer = requireNonNull(initializer);
+        this.random = requireNonNull(random);
+    }
+
+    @Override
+    public List<CentroidCluster<T>> cluster(Collection<T> points) {
+        final var list = (points instanceof List) ? (List<T>) points : new ArrayList<>(points);
+
+        final int dimensions = KMeans.dimensions(list);
+        final var data = KMeans.coordinates(list, dimensions);
+        final var centers = initializer.initialize(data, dimensions, k, random);
+
+        return new Implementation<>(list, data, dimensions, centers).compute(maxIterations);
+    }
+
+    /**
+     * Perform clustering starting from the given centers.
+     *
+     * @param points  the points
+     * @param centers the initial centers, which are modified in place
+     * @return the clusters
+     */
+    public List<CentroidCluster<T>> cluster(List<T> points, double[][] centers) {
+        final int dimensions = KMeans.dimensions(points);
+        return new Implementation<>(points, KMeans.coordinates(points, dimensions), dimensions, centers).compute(maxIterations);
+    }
+
+    /**
+     * Actual implementation of Hamerly's algorithm.
+     *
+     * @param <T> the type of points to cluster
+     */
+    protected static class Implementation<T extends Clusterable> {
+        /**
+         * The points.
+         */
+        protected final List<T> points;
+
+        /**
+         * The coordinates of the points in the row-major order.
+         */
+        protected final double[] data;
+
+        /**
+         * The number of dimensions.
+         */
+        protected final int dimensions;
+
+        /**
+         * The centers.
+         */
+        protected final double[][] centers;
+
+        /**
+         * The cluster indices of the points.
+         */
+        protected final int[] labels;
+
+        /**
+         * The upper bounds of the distances to the assigned centers.
+         */
+        protected final double[] upper;
+
+        /**
+         * The lower bounds of the distances to the second closest centers.
+         */
+        protected final double[] lower;
+
+        /**
+         * The halves of the distances from each center to the closest other center.
+         */
+        protected final double[] half;
+
+        /**
+         * Create an instance of the algorithm implementation.
+         *
+         * @param points  the points
+         * @param centers the initial centers
+         */
+        public Implementation(List<T> points, double[][] centers) {
+            this(points, KMeans.coordinates(points, centers[0].length), centers[0].length, centers);
+        }
+
+        /**
+         * Create an instance of the algorithm implementation over the coordinates in a row-major array.
+         *
+         * @param points     the points
+         * @param data       the coordinates of the points in the row-major order
+         * @param dimensions the number of dimensions
+         * @param centers    the initial centers
+         */
+        public Implementation(List<T> points, double[] data, int dimensions, double[][] centers) {
+            this.points = points;
+            this.data = data;
+            this.dimensions = dimensions;
+            this.centers = centers;
+            this.labels = new int[points.size()];
+            this.upper = new double[points.size()];
+            this.lower = new double[points.size()];
+            this.half = new double[centers.length];
+        }
+
+        /**
+         * Perform the iterations until the assignments stop changing.
+         *
+         * @param maxIterations the maximal number of iterations, or a negative number for no limit
+         * @return the clusters
+         */
+        public List<CentroidCluster<T>> compute(int maxIterations) {
+            IntStream.range(0, labels.length).parallel().forEach(this::assign);
+
+            for (int iteration = 0; maxIterations < 0 || iteration < maxIterations; iteration++) {
+                final var shifts = move();
+
+                int first = -1;
+                double max = 0, second = 0;
+
+                for (int j = 0; j < shifts.length; j++) {
+                    if (shifts[j] > max) {
+                        second = max;
+                        max = shifts[j];
+                        first = j;
+                    } else if (shifts[j] > second) {
+                        second = shifts[j];
+                    }
+                }
+
+                if (max == 0) break;
+
+                for (int i = 0; i < labels.length; i++) {
+                    upper[i] += shifts[labels[i]];
+                    lower[i] -= (labels[i] == first) ? second : max;
+                }
+
+                computeHalfDistances();
+
+                final int changes = IntStream.range(0, labels.length).parallel().map(this::update).sum();
+
+                if (changes == 0) break;
+            }
+
+            return KMeans.toClusters(points, labels, centers);
+        }
+
+        /**
+         * Assign the point to the closest center, computing its bounds from scratch.
+         *
+         * @param i the point index
+         */
+        protected void assign(int i) {
+            int nearest = 0;
+            double best = Double.POSITIVE_INFINITY, next = Double.POSITIVE_INFINITY;
+
+            for (int j = 0; j < centers.length; j++) {
+                final double distance = KMeans.distance(data, i * dimensions, centers[j]);
+
+                if (distance < best) {
+                    next = best;
+                    best = distance;
+                    nearest = j;
+                } else if (distance < next) {
+                    next = distance;
+                }
+            }
+
+            labels[i] = nearest;
+            upper[i] = Math.sqrt(best);
+            lower[i] = Math.sqrt(next);
+        }
+
+        /**
+         * Update the assignment of the point using the bounds.
+         *
+         * @param i the point index
+         * @return 1 if the point changed its cluster, 0 otherwise
+         */
+        protected int update(int i) {
+            final double bound = Math.max(half[labels[i]], lower[i]);
+
+            if (upper[i] <= bound) return 0;
+
+            upper[i] = Math.sqrt(KMeans.distance(data, i * dimensions, centers[labels[i]]));
+
+            if (upper[i] <= bound) return 0;
+
+            final int label = labels[i];
+            assign(i);
+            return label == labels[i] ? 0 : 1;
+        }
+
+        /**
+         * Move the centers to the means of their points.
+         *
+         * @return the distances by which the centers moved
+         */
+        protected double[] move() {
+            final var sums = new double[centers.length][dimensions];
+            final var counts = new int[centers.length];
+
+            for (int i = 0; i < labels.length; i++) {
+                final var sum = sums[labels[i]];
+                final int offset = i * dimensions;
+
+                for (int d = 0; d < dimensions; d++) sum[d] += data[offset + d];
+
+                counts[labels[i]]++;
+            }
+
+            final var shifts = new double[centers.length];
+
+            for (int j = 0; j < centers.length; j++) {
+                if (counts[j] == 0) continue;
+
+                for (int d = 0; d < dimensions; d++) sums[j][d] /= counts[j];
+
+                shifts[j] = Math.sqrt(KMeans.distance(centers[j], sums[j]));
+                centers[j] = sums[j];
+            }
+
+            return shifts;
+        }
+
+        /**
+         * Compute the halves of the distances from each center to the closest other center.
+         */
+        protected void computeHalfDistances() {
+            Arrays.fill(half, Double.POSITIVE_INFINITY);
+
+            for (int j = 0; j < centers.length; j++) {
+                for (int l = j + 1; l < centers.length; l++) {
+                    final double distance = Math.sqrt(KMeans.distance(centers[j], centers[l])) / 2;
+                    if (distance < half[j]) half[j] = distance;
+                    if (distance < half[l]) half[l] = distance;
+                }
+            }
+        }
+    }
+}
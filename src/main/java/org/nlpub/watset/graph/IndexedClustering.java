@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compact clustering that stores the node indices of all the clusters in a single array.
+ * <p>
+ * The members of the cluster {@code i} are the nodes with the indices
+ * {@code members[offsets[i]], ..., members[offsets[i + 1] - 1]}. The clusters are exposed as
+ * unmodifiable set views over these arrays, so their {@link Set#contains(Object)} is linear.
+ *
+ * @param <V> the type of nodes in the graph
+ */
+public class IndexedClustering<V> implements ClusteringAlgorithm.Clustering<V> {
+    /**
+     * The nodes addressed by their indices.
+     */
+    private final List<V> nodes;
+
+    /**
+     * The offsets of the clusters in {@code members}; this array has one more element than there are clusters.
+     */
+    private final int[] offsets;
+
+    /**
+     * The node indices of the cluster members.
+     */
+    private final int[] members;
+
+    /**
+     * Create an instance of the compact clustering.
+     *
+     * @param nodes   the nodes addressed by their indices
+     * @param offsets the offsets of the clusters in {@code members} followed by the total number of members
+     * @param members the node indices of the cluster members
+     */
+    public IndexedClustering(List<V> nodes, int[] offsets, int[] members) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] > members.length) {
+            throw new IllegalArgumentException("offsets do not match members");
+        }
+
+        this.nodes = requireNonNull(nodes);
+        this.offsets = offsets;
+        this.members = members;
+    }
+
+    @Override
+    public int getNumberClusters() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Get the number of members of the cluster.
+     *
+     * @param cluster the cluster index
+     * @return the cluster size
+     */
+    public int size(int cluster) {
+        return offsets[cluster + 1] - offsets[cluster];
+    }
+
+    /**
+     * Get the node index of the cluster member.
+     *
+     * @param cluster the cluster index
+     * @param i       the member position in the cluster
+     * @return the node index
+     */
+    public int getMember(int cluster, int i) {
+        return members[offsets[cluster] + i];
+    }
+
+    @Override
+    public List<Set<V>> getClusters() {
+        return new AbstractList<>() {
+            @Override
+            public Set<V> get(int index) {
+                Objects.checkIndex(index, size());
+                return new ClusterView(index);
+            }
+
+            @Override
+            public int size() {
+                return getNumberClusters();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Set<V>> iterator() {
+        return getClusters().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "Clustering [k=" + getNumberClusters() + ", clusters=" + getClusters() + "]";
+    }
+
+    /**
+     * An unmodifiable view of a single cluster.
+     */
+    private final class ClusterView extends AbstractSet<V> {
+        private final int cluster;
+
+        private ClusterView(int cluster) {
+            this.cluster = cluster;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<>() {
+                private int position = offsets[cluster];
+
+                @Override
+                public boolean hasNext() {
+                    return position < offsets[cluster + 1];
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return nodes.get(members[position++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return IndexedClustering.this.size(cluster);
+        }
+    }
+}
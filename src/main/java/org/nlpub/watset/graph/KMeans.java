@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.ml.clustering.CentroidCluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routines shared by the k-means clusterers.
+ */
+final class KMeans {
+    private KMeans() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Compute the squared Euclidean distance.
+     *
+     * @param x the first point
+     * @param y the second point
+     * @return the squared distance
+     */
+    static double distance(double[] x, double[] y) {
+        double sum = 0;
+
+        for (int i = 0; i < x.length; i++) {
+            final double d = x[i] - y[i];
+            sum += d * d;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Compute the squared Euclidean distance between the row of a row-major array and the point.
+     *
+     * @param data   the row-major array
+     * @param offset the offset of the row in {@code data}
+     * @param y      the point
+     * @return the squared distance
+     */
+    static double distance(double[] data, int offset, double[] y) {
+        double sum = 0;
+
+        for (int i = 0; i < y.length; i++) {
+            final double d = data[offset + i] - y[i];
+            sum += d * d;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Find the center closest to the point.
+     *
+     * @param point   the point
+     * @param centers the centers
+     * @return the index of the closest center
+     */
+    static int nearest(double[] point, double[][] centers) {
+        int nearest = 0;
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int c = 0; c < centers.length; c++) {
+            final double distance = distance(point, centers[c]);
+
+            if (distance < best) {
+                best = distance;
+                nearest = c;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Find the center closest to the row of a row-major array.
+     *
+     * @param data    the row-major array
+     * @param offset  the offset of the row in {@code data}
+     * @param centers the centers
+     * @return the index of the closest center
+     */
+    static int nearest(double[] data, int offset, double[][] centers) {
+        int nearest = 0;
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int c = 0; c < centers.length; c++) {
+            final double distance = distance(data, offset, centers[c]);
+
+            if (distance < best) {
+                best = distance;
+                nearest = c;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Get the number of dimensions of the points.
+     *
+     * @param points the non-empty list of points
+     * @return the number of dimensions
+     */
+    static int dimensions(List<? extends Clusterable> points) {
+        if (points instanceof EmbeddingMatrix) return ((EmbeddingMatrix<?>) points).getDimensions();
+        if (points.isEmpty()) throw new IllegalArgumentException("points should not be empty");
+        return points.get(0).getPoint().length;
+    }
+
+    /**
+     * Get the coordinates of the points in a single row-major array. The array of an
+     * {@link EmbeddingMatrix} is returned as is, so it must not be modified.
+     *
+     * @param points     the points
+     * @param dimensions the number of dimensions
+     * @return the coordinates in the row-major order
+     */
+    static double[] coordinates(List<? extends Clusterable> points, int dimensions) {
+        if (points instanceof EmbeddingMatrix) return ((EmbeddingMatrix<?>) points).getData();
+
+        final var data = new double[points.size() * dimensions];
+
+        for (int i = 0; i < points.size(); i++) {
+            final var point = points.get(i).getPoint();
+
+            if (point.length != dimensions) throw new IllegalArgumentException("points should have the same dimensions");
+
+            System.arraycopy(point, 0, data, i * dimensions, dimensions);
+        }
+
+        return data;
+    }
+
+    /**
+     * Copy the row of a row-major array.
+     *
+     * @param data       the row-major array
+     * @param index      the row index
+     * @param dimensions the number of dimensions
+     * @return the row
+     */
+    static double[] row(double[] data, int index, int dimensions) {
+        return Arrays.copyOfRange(data, index * dimensions, (index + 1) * dimensions);
+    }
+
+    /**
+     * Group the points by their labels, omitting the empty clusters.
+     *
+     * @param points  the points
+     * @param labels  the cluster indices of the points
+     * @param centers the centers
+     * @param <T>     the type of points
+     * @return the clusters
+     */
+    static <T extends Clusterable> List<CentroidCluster<T>> toClusters(List<T> points, int[] labels, double[][] centers) {
+        final var clusters = new ArrayList<CentroidCluster<T>>(centers.length);
+
+        for (final var center : centers) {
+            clusters.add(new CentroidCluster<>(new DoublePoint(center)));
+        }
+
+        for (int i = 0; i < labels.length; i++) {
+            clusters.get(labels[i]).addPoint(points.get(i));
+        }
+
+        clusters.removeIf(cluster -> cluster.getPoints().isEmpty());
+
+        return clusters;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.List;
+
+/**
+ * A strategy for choosing the initial centers of k-means.
+ * <p>
+ * The strategies work on the coordinates of all the points in a single row-major array,
+ * which is taken from an {@link EmbeddingMatrix} without copying.
+ */
+@FunctionalInterface
+public interface KMeansInitializer {
+    /**
+     * Choose the initial centers.
+     *
+     * @param data       the coordinates of the points in the row-major order, which must not be modified
+     * @param dimensions the number of dimensions
+     * @param k          the number of centers
+     * @param random     the random number generator
+     * @return the coordinates of {@code k} centers
+     */
+    double[][] initialize(double[] data, int dimensions, int k, RandomGenerator random);
+
+    /**
+     * Choose the initial centers.
+     *
+     * @param points the points
+     * @param k      the number of centers
+     * @param random the random number generator
+     * @return the coordinates of {@code k} centers
+     */
+    default double[][] initialize(List<? extends Clusterable> points, int k, RandomGenerator random) {
+        if (k < 1 || k > points.size()) throw new IllegalArgumentException("k should be in [1, " + points.size() + "]");
+
+        final int dimensions = KMeans.dimensions(points);
+        return initialize(KMeans.coordinates(points, dimensions), dimensions, k, random);
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.RandomGenerator;
+import org.nlpub.watset.util.SplitMix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The k-means|| initialization that oversamples the candidate centers in a few parallel passes
+ * over the points and then reclusters the weighted candidates into {@code k} centers.
+ * <p>
+ * In each round, every point becomes a candidate independently with the probability proportional
+ * to its squared distance to the closest candidate. The decisions are made by a hash of the round
+ * seed and the point index, so the result does not depend on the thread scheduling. The candidates
+ * are weighted by the numbers of points closest to them and reclustered with the weighted k-means++
+ * followed by the weighted Lloyd's iterations.
+ *
+ * @see <a href="https://doi.org/10.14778/2180912.2180915">Bahmani et al. (PVLDB 5:7)</a>
+ */
+public class KMeansParallelInitializer implements KMeansInitializer {
+    /**
+     * The default number of rounds.
+     */
+    public static final int ROUNDS = 5;
+
+    /**
+     * The default oversampling factor relative to {@code k}.
+     */
+    public static final double OVERSAMPLING = 2;
+
+    /**
+     * The maximal number of Lloyd's iterations over the candidates.
+     */
+    private static final int ITERATIONS = 100;
+
+    /**
+     * The number of rounds.
+     */
+    private final int rounds;
+
+    /**
+     * The oversampling factor relative to {@code k}.
+     */
+    private final double oversampling;
+
+    /**
+     * Create an instance of the initializer with the default parameters.
+     */
+    public KMeansParallelInitializer() {
+        this(ROUNDS, OVERSAMPLING);
+    }
+
+    /**
+     * Create an instance of the initializer.
+     *
+     * @param rounds       the number of rounds
+     * @param oversampling the expected number of candidates per round divided by {@code k}
+     */
+    public KMeansParallelInitializer(int rounds, double oversampling) {
+        if (rounds < 1) throw new IllegalArgumentException("rounds should be positive");
+        if (!(oversampling > 0)) throw new IllegalArgumentException("oversampling should be positive");
+
+        this.rounds = rounds;
+        this.oversampling = oversampling;
+    }
+
+    @Override
+    public double[][] initialize(double[] data, int dimensions, int k, RandomGenerator random) {
+        final int n = data.length / dimensions;
+
+        if (k < 1 || k > n) throw new IllegalArgumentException("k should be in [1, " + n + "]");
+
+        final var candidates = new ArrayList<double[]>();
+        final var picked = new boolean[n];
+        final int first = random.nextInt(n);
+        candidates.add(KMeans.row(data, first, dimensions));
+        picked[first] = true;
+
+        final var distances = new double[n];
+        final var nearest = new int[n];
+
+        IntStream.range(0, n).parallel().forEach(i ->
+                distances[i] = KMeans.distance(data, i * dimensions, candidates.get(0)));
+
+        final double l = oversampling * k;
+
+        for (int round = 0; round < rounds; round++) {
+            final double psi = Arrays.stream(distances).parallel().sum();
+
+            if (psi == 0) break;
+
+            final long seed = random.nextLong();
+
+            final var sampled = IntStream.range(0, n).parallel().
+                    filter(i -> SplitMix.uniform(seed, i) < l * distances[i] / psi).
+                    toArray();
+
+            final int offset = candidates.size();
+
+            for (final int i : sampled) {
+                candidates.add(KMeans.row(data, i, dimensions));
+                picked[i] = true;
+            }
+
+            IntStream.range(0, n).parallel().forEach(i -> {
+                for (int c = offset; c < candidates.size(); c++) {
+                    final double distance = KMeans.distance(data, i * dimensions, candidates.get(c));
+
+                    if (distance < distances[i]) {
+                        distances[i] = distance;
+                        nearest[i] = c;
+                    }
+                }
+            });
+        }
+
+        // The rounds can sample fewer than k candidates, so the farthest points that have not been picked are added
+        while (candidates.size() < k) {
+            int farthest = -1;
+
+            for (int i = 0; i < n; i++) {
+                if (!picked[i] && (farthest < 0 || distances[i] > distances[farthest])) farthest = i;
+            }
+
+            final int c = candidates.size();
+            final var candidate = KMeans.row(data, farthest, dimensions);
+            candidates.add(candidate);
+            picked[farthest] = true;
+
+            IntStream.range(0, n).parallel().forEach(i -> {
+                final double distance = KMeans.distance(data, i * dimensions, candidate);
+
+                if (distance < distances[i]) {
+                    distances[i] = distance;
+                    nearest[i] = c;
+                }
+            });
+        }
+
+        final var weights = new double[candidates.size()];
+
+        for (final int c : nearest) weights[c]++;
+
+        return recluster(candidates.toArray(new double[0][]), weights, k, random);
+    }
+
+    /**
+     * Cluster the weighted candidates into {@code k} centers.
+     *
+     * @param candidates the candidates
+     * @param weights    the weights of the candidates
+     * @param k          the number of centers
+     * @param random     the random number generator
+     * @return the centers
+     */
+    protected double[][] recluster(double[][] candidates, double[] weights, int k, RandomGenerator random) {
+        if (candidates.length == k) return candidates;
+
+        final var centers = new double[k][];
+        final var distances = new double[candidates.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        final var chosen = new boolean[candidates.length];
+        int last = sample(weights, null, chosen, random);
+
+        for (int c = 0; c < k; c++) {
+            if (c > 0) last = sample(weights, distances, chosen, random);
+
+            chosen[last] = true;
+            centers[c] = candidates[last].clone();
+
+            for (int i = 0; i < candidates.length; i++) {
+                distances[i] = Math.min(distances[i], KMeans.distance(candidates[i], centers[c]));
+            }
+        }
+
+        final var labels = new int[candidates.length];
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            boolean changed = iteration == 0;
+
+            for (int i = 0; i < candidates.length; i++) {
+                final int label = KMeans.nearest(candidates[i], centers);
+                changed |= label != labels[i];
+                labels[i] = label;
+            }
+
+            if (!changed) break;
+
+            final var sums = new double[k][candidates[0].length];
+            final var totals = new double[k];
+
+            for (int i = 0; i < candidates.length; i++) {
+                for (int d = 0; d < candidates[i].length; d++) sums[labels[i]][d] += weights[i] * candidates[i][d];
+                totals[labels[i]] += weights[i];
+            }
+
+            for (int c = 0; c < k; c++) {
+                if (totals[c] == 0) continue;
+                for (int d = 0; d < sums[c].length; d++) sums[c][d] /= totals[c];
+                centers[c] = sums[c];
+            }
+        }
+
+        return centers;
+    }
+
+    /**
+     * Sample a candidate that has not been chosen yet with the probability proportional
+     * to its weight times its squared distance to the closest center.
+     *
+     * @param weights   the weights of the candidates
+     * @param distances the squared distances, or {@code null} for the weights only
+     * @param chosen    the chosen candidates
+     * @param random    the random number generator
+     * @return the candidate index
+     */
+    private static int sample(double[] weights, double[] distances, boolean[] chosen, RandomGenerator random) {
+        double sum = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            if (!chosen[i]) sum += score(weights, distances, i);
+        }
+
+        double threshold = random.nextDouble() * sum;
+        int candidate = -1;
+
+        for (int i = 0; i < weights.length; i++) {
+            if (chosen[i]) continue;
+
+            // The candidates having zero score are only chosen when all the scores are zero
+            if (candidate < 0 || score(weights, distances, i) > 0) candidate = i;
+
+            threshold -= score(weights, distances, i);
+
+            if (threshold < 0 && sum > 0 && score(weights, distances, i) > 0) return i;
+        }
+
+        return candidate;
+    }
+
+    private static double score(double[] weights, double[] distances, int i) {
+        return distances == null ? weights[i] : weights[i] * distances[i];
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * The k-means++ initialization that chooses each next center with the probability
+ * proportional to the squared distance to the closest chosen center.
+ *
+ * @see <a href="https://dl.acm.org/doi/10.5555/1283383.1283494">Arthur &amp; Vassilvitskii (SODA 2007)</a>
+ */
+public class KMeansPlusPlusInitializer implements KMeansInitializer {
+    @Override
+    public double[][] initialize(double[] data, int dimensions, int k, RandomGenerator random) {
+        final int n = data.length / dimensions;
+
+        if (k < 1 || k > n) throw new IllegalArgumentException("k should be in [1, " + n + "]");
+
+        final var centers = new double[k][];
+        final var distances = new double[n];
+
+        centers[0] = KMeans.row(data, random.nextInt(n), dimensions);
+
+        double sum = 0;
+
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = KMeans.distance(data, i * dimensions, centers[0]);
+            sum += distances[i];
+        }
+
+        for (int c = 1; c < k; c++) {
+            int chosen = -1;
+
+            if (sum > 0) {
+                double threshold = random.nextDouble() * sum;
+
+                for (int i = 0; i < distances.length; i++) {
+                    if (distances[i] > 0) {
+                        chosen = i;
+                        threshold -= distances[i];
+                        if (threshold < 0) break;
+                    }
+                }
+            } else {
+                // All the points coincide with the centers, so any of them will do
+                chosen = random.nextInt(n);
+            }
+
+            centers[c] = KMeans.row(data, chosen, dimensions);
+
+            sum = 0;
+
+            for (int i = 0; i < distances.length; i++) {
+                distances[i] = Math.min(distances[i], KMeans.distance(data, i * dimensions, centers[c]));
+                sum += distances[i];
+            }
+        }
+
+        return centers;
+    }
+}
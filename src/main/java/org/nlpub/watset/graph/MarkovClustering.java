@@ -76,6 +76,11 @@ public class MarkovClustering<V, E> implements ClusteringAlgorithm<V> {
             return new MarkovClustering<>(graph, e, r, iterations);
         }
 
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.SINGLETONS;
+        }
+
         /**
          * Set the expansion parameter.
          *
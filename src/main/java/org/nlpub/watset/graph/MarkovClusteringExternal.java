@@ -21,14 +21,16 @@ import org.jgrapht.Graph;
 import org.jgrapht.Graphs;
 import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
 import org.jgrapht.util.VertexToIntegerMapping;
+import org.nlpub.watset.util.EdgeListWriter;
+import org.nlpub.watset.util.MCLFormat;
+import org.nlpub.watset.util.ProcessLimiter;
 
 import java.io.*;
 import java.lang.System.Logger.Level;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.Locale;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -48,6 +50,23 @@ import static org.jgrapht.GraphTests.requireUndirected;
  * @see <a href="https://micans.org/mcl/">MCL - a cluster algorithm for graphs</a>
  */
 public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
+    /**
+     * The format of the matrices exchanged with the MCL binary.
+     *
+     * @see <a href="https://micans.org/mcl/man/mcxio.html">mcxio - the format specification for mcl matrices</a>
+     */
+    public enum Format {
+        /**
+         * The ABC {@code (source, target, weight)} edge list, read by MCL with the {@code --abc} option.
+         */
+        ABC,
+
+        /**
+         * The native MCL matrix format addressed by the node indices, which spares MCL from parsing and hashing labels.
+         */
+        NATIVE
+    }
+
     /**
      * Builder for {@link MarkovClusteringExternal}.
      *
@@ -69,10 +88,17 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
         private Path path;
         private double r = R;
         private int threads = THREADS;
+        private ProcessLimiter limiter = ProcessLimiter.getInstance();
+        private Format format = Format.ABC;
 
         @Override
         public MarkovClusteringExternal<V, E> apply(Graph<V, E> graph) {
-            return new MarkovClusteringExternal<>(graph, path, r, threads);
+            return new MarkovClusteringExternal<>(graph, path, r, threads, limiter, format);
+        }
+
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.SINGLETONS;
         }
 
         /**
@@ -107,6 +133,28 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
             this.threads = threads;
             return this;
         }
+
+        /**
+         * Set the limiter of concurrent MCL processes.
+         *
+         * @param limiter the process limiter
+         * @return the builder
+         */
+        public Builder<V, E> setLimiter(ProcessLimiter limiter) {
+            this.limiter = requireNonNull(limiter);
+            return this;
+        }
+
+        /**
+         * Set the format of the matrices exchanged with the MCL binary.
+         *
+         * @param format the format
+         * @return the builder
+         */
+        public Builder<V, E> setFormat(Format format) {
+            this.format = requireNonNull(format);
+            return this;
+        }
     }
 
     /**
@@ -142,6 +190,16 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
      */
     protected final int threads;
 
+    /**
+     * The limiter of concurrent MCL processes.
+     */
+    protected final ProcessLimiter limiter;
+
+    /**
+     * The format of the exchanged matrices.
+     */
+    protected final Format format;
+
     /**
      * The cached clustering result.
      */
@@ -156,16 +214,32 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
      * @param threads the number of threads
      */
     public MarkovClusteringExternal(Graph<V, E> graph, Path path, double r, int threads) {
+        this(graph, path, r, threads, ProcessLimiter.getInstance(), Format.ABC);
+    }
+
+    /**
+     * Create an instance of the Markov Clustering algorithm wrapper.
+     *
+     * @param graph   the graph
+     * @param path    the path to the MCL binary
+     * @param r       the inflation parameter
+     * @param threads the number of threads
+     * @param limiter the limiter of concurrent MCL processes
+     * @param format  the format of the exchanged matrices
+     */
+    public MarkovClusteringExternal(Graph<V, E> graph, Path path, double r, int threads, ProcessLimiter limiter, Format format) {
         this.graph = requireUndirected(graph);
         this.path = requireNonNull(path);
         this.r = r;
         this.threads = threads;
+        this.limiter = requireNonNull(limiter);
+        this.format = requireNonNull(format);
     }
 
     @Override
     public Clustering<V> getClustering() {
         if (isNull(clustering)) {
-            clustering = new Implementation<>(graph, path, r, threads).compute();
+            clustering = new Implementation<>(graph, path, r, threads, limiter, format).compute();
         }
 
         return clustering;
@@ -198,6 +272,16 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
          */
         protected final int threads;
 
+        /**
+         * The limiter of concurrent MCL processes.
+         */
+        protected final ProcessLimiter limiter;
+
+        /**
+         * The format of the exchanged matrices.
+         */
+        protected final Format format;
+
         /**
          * The mapping of nodes to indices.
          */
@@ -217,10 +301,26 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
          * @param threads the number of threads
          */
         public Implementation(Graph<V, E> graph, Path path, double r, int threads) {
+            this(graph, path, r, threads, ProcessLimiter.getInstance(), Format.ABC);
+        }
+
+        /**
+         * Create an instance of the Markov Clustering algorithm wrapper implementation.
+         *
+         * @param graph   the graph
+         * @param path    the path to the MCL binary
+         * @param r       the inflation parameter
+         * @param threads the number of threads
+         * @param limiter the limiter of concurrent MCL processes
+         * @param format  the format of the exchanged matrices
+         */
+        public Implementation(Graph<V, E> graph, Path path, double r, int threads, ProcessLimiter limiter, Format format) {
             this.graph = graph;
             this.path = path;
             this.r = r;
             this.threads = threads;
+            this.limiter = limiter;
+            this.format = format;
             this.mapping = Graphs.getVertexToIntegerMapping(graph);
         }
 
@@ -240,13 +340,10 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
 
             logger.log(Level.INFO, "Markov Clustering finished.");
 
-            try (var stream = Files.lines(output.toPath())) {
-                final var clusters = stream.map(line -> Arrays.stream(line.split("\t")).
-                        map(id -> mapping.getIndexList().get(Integer.parseInt(id))).
-                        collect(Collectors.toSet())).
-                        collect(Collectors.toList());
-
-                return new ClusteringImpl<>(clusters);
+            try (var stream = Files.newInputStream(output.toPath())) {
+                return format == Format.NATIVE ?
+                        MCLFormat.parseNative(stream, mapping.getIndexList()) :
+                        MCLFormat.parseLines(stream, mapping.getIndexList());
             } catch (IOException ex) {
                 throw new IllegalStateException("Clusters cannot be read.", ex);
             }
@@ -263,43 +360,64 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
 
             final var input = writeInputFile();
 
-            final var builder = new ProcessBuilder(
-                    path.toAbsolutePath().toString(),
-                    input.toString(),
-                    "-I", Double.toString(r),
-                    "-te", Integer.toString(threads),
-                    "--abc",
-                    "-o", output.toString());
+            try (final var permit = acquire()) {
+                final var command = new ArrayList<>(List.of(
+                        path.toAbsolutePath().toString(),
+                        input.toString(),
+                        "-I", Double.toString(r),
+                        "-te", Integer.toString(permit.getThreads())));
 
-            logger.log(Level.INFO, () -> "Command: " + String.join(" ", builder.command()));
+                if (format == Format.ABC) command.add("--abc");
 
-            final var process = builder.start();
+                command.addAll(List.of("-o", output.toString()));
 
-            int status;
+                final var builder = new ProcessBuilder(command);
 
-            try {
-                status = process.waitFor();
-            } catch (InterruptedException e) {
-                // TODO: Is it correct to call interrupt() here?
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException(path.toAbsolutePath() + " has been interrupted", e);
-            }
+                logger.log(Level.INFO, () -> "Command: " + String.join(" ", builder.command()));
 
-            if (status != 0) {
-                try (final var isr = new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8)) {
-                    try (final var reader = new BufferedReader(isr)) {
-                        final var stderr = reader.lines().collect(Collectors.joining(System.lineSeparator()));
+                final var process = builder.start();
 
-                        if (stderr.isEmpty()) {
-                            throw new IllegalStateException(path.toAbsolutePath() + " returned " + status);
-                        } else {
-                            throw new IllegalStateException(path.toAbsolutePath() + " returned " + status + ": " + stderr);
+                int status;
+
+                try {
+                    status = process.waitFor();
+                } catch (InterruptedException e) {
+                    // TODO: Is it correct to call interrupt() here?
+                    Thread.currentThread().interrupt();
+                    process.destroy();
+                    throw new IllegalStateException(path.toAbsolutePath() + " has been interrupted", e);
+                }
+
+                if (status != 0) {
+                    try (final var isr = new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8)) {
+                        try (final var reader = new BufferedReader(isr)) {
+                            final var stderr = reader.lines().collect(Collectors.joining(System.lineSeparator()));
+
+                            if (stderr.isEmpty()) {
+                                throw new IllegalStateException(path.toAbsolutePath() + " returned " + status);
+                            } else {
+                                throw new IllegalStateException(path.toAbsolutePath() + " returned " + status + ": " + stderr);
+                            }
                         }
                     }
                 }
             }
         }
 
+        /**
+         * Wait until the limiter allows running the Markov Clustering binary.
+         *
+         * @return the permit that budgets the number of threads
+         */
+        protected ProcessLimiter.Permit acquire() {
+            try {
+                return limiter.acquire(threads);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(path.toAbsolutePath() + " has been interrupted", e);
+            }
+        }
+
         /**
          * Write the input file for the Markov Clustering binary.
          *
@@ -310,17 +428,66 @@ public class MarkovClusteringExternal<V, E> implements ClusteringAlgorithm<V> {
             final var input = File.createTempFile("mcl", "input");
             input.deleteOnExit();
 
-            try (final var writer = Files.newBufferedWriter(input.toPath())) {
-                for (final var edge : graph.edgeSet()) {
-                    final int source = mapping.getVertexMap().get(graph.getEdgeSource(edge));
-                    final int target = mapping.getVertexMap().get(graph.getEdgeTarget(edge));
-                    final var weight = graph.getEdgeWeight(edge);
-
-                    writer.write(String.format(Locale.ROOT, "%d\t%d\t%f%n", source, target, weight));
+            try (final var writer = new EdgeListWriter(Files.newOutputStream(input.toPath()))) {
+                if (format == Format.NATIVE) {
+                    writeNativeMatrix(writer);
+                } else {
+                    writeEdges(writer);
                 }
             }
 
             return input;
         }
+
+        /**
+         * Write the graph as the ABC edge list.
+         *
+         * @param writer the writer
+         * @throws IOException if an I/O error occurs
+         */
+        protected void writeEdges(EdgeListWriter writer) throws IOException {
+            for (final var edge : graph.edgeSet()) {
+                final int source = mapping.getVertexMap().get(graph.getEdgeSource(edge));
+                final int target = mapping.getVertexMap().get(graph.getEdgeTarget(edge));
+                final var weight = graph.getEdgeWeight(edge);
+
+                writer.writeEdge(source, target, weight);
+            }
+        }
+
+        /**
+         * Write the graph as the symmetric adjacency matrix in the native MCL format.
+         * <p>
+         * Unlike the ABC edge list, this format also keeps the isolated nodes.
+         *
+         * @param writer the writer
+         * @throws IOException if an I/O error occurs
+         */
+        protected void writeNativeMatrix(EdgeListWriter writer) throws IOException {
+            final int n = mapping.getIndexList().size();
+
+            writer.write("(mclheader\nmcltype matrix\ndimensions ").
+                    writeInt(n).write("x").writeInt(n).
+                    write("\n)\n(mclmatrix\nbegin\n");
+
+            for (int i = 0; i < n; i++) {
+                final var node = mapping.getIndexList().get(i);
+
+                writer.writeInt(i);
+
+                for (final var edge : graph.edgesOf(node)) {
+                    final var neighbor = Graphs.getOppositeVertex(graph, edge, node);
+
+                    if (neighbor.equals(node)) continue;
+
+                    writer.write(" ").writeInt(mapping.getVertexMap().get(neighbor)).
+                            write(":").writeDouble(graph.getEdgeWeight(edge));
+                }
+
+                writer.write(" $").newLine();
+            }
+
+            writer.write(")").newLine();
+        }
     }
 }
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.nlpub.watset.util.ProcessLimiter;
+
+import java.lang.System.Logger.Level;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.jgrapht.GraphTests.requireUndirected;
+
+/**
+ * A batching supplier of {@link MarkovClusteringExternal} that clusters many small graphs
+ * in a single run of the MCL binary.
+ * <p>
+ * The graphs passed to {@link #apply(Graph)} are accumulated in a batch. The first request for the clustering
+ * of any graph in the batch closes it and distributes its graphs among as many parts as the limiter allows
+ * concurrent processes. Every part is relabeled into one disjoint union graph and clustered by its own run of MCL
+ * on the first request for any of its graphs, so the parts are clustered concurrently. Since MCL never moves
+ * the flow between the connected components, the resulting clusters are then split back per graph.
+ * The nodes that MCL has not seen, such as the isolated ones, become singletons.
+ * <p>
+ * To benefit from batching, all the clustering algorithms should be created before
+ * the first call of {@link ClusteringAlgorithm#getClustering()}, as {@link Watset} does.
+ *
+ * @param <V> the type of nodes in the graph
+ * @param <E> the type of edges in the graph
+ * @see MarkovClusteringExternal
+ */
+public class MarkovClusteringExternalBatch<V, E> implements ClusteringAlgorithmBuilder<V, E, ClusteringAlgorithm<V>> {
+    /**
+     * The default maximal number of nodes in a batch.
+     */
+    public static final int SIZE = 1 << 20;
+
+    private static final System.Logger logger = System.getLogger(MarkovClusteringExternalBatch.class.getSimpleName());
+
+    /**
+     * The path to the MCL binary.
+     */
+    protected final Path path;
+
+    /**
+     * The inflation parameter.
+     */
+    protected final double r;
+
+    /**
+     * The number of threads.
+     */
+    protected final int threads;
+
+    /**
+     * The maximal number of nodes in a batch.
+     */
+    protected final int size;
+
+    /**
+     * The format of the matrices exchanged with the MCL binary.
+     */
+    protected final MarkovClusteringExternal.Format format;
+
+    /**
+     * The limiter of the concurrent MCL processes.
+     */
+    protected final ProcessLimiter limiter;
+
+    /**
+     * The batch that accepts new graphs.
+     */
+    private Batch batch;
+
+    /**
+     * Create an instance of the batching Markov Clustering algorithm wrapper supplier.
+     *
+     * @param path    the path to the MCL binary
+     * @param r       the inflation parameter
+     * @param threads the number of threads
+     * @param size    the maximal number of nodes in a batch
+     * @param format  the format of the matrices exchanged with the MCL binary
+     */
+    public MarkovClusteringExternalBatch(Path path, double r, int threads, int size, MarkovClusteringExternal.Format format) {
+        this(path, r, threads, size, format, ProcessLimiter.getInstance());
+    }
+
+    /**
+     * Create an instance of the batching Markov Clustering algorithm wrapper supplier.
+     *
+     * @param path    the path to the MCL binary
+     * @param r       the inflation parameter
+     * @param threads the number of threads
+     * @param size    the maximal number of nodes in a batch
+     * @param format  the format of the matrices exchanged with the MCL binary
+     * @param limiter the limiter of the concurrent MCL processes
+     */
+    public MarkovClusteringExternalBatch(Path path, double r, int threads, int size, MarkovClusteringExternal.Format format, ProcessLimiter limiter) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size should be positive");
+        }
+
+        this.path = requireNonNull(path);
+        this.r = r;
+        this.threads = threads;
+        this.size = size;
+        this.format = requireNonNull(format);
+        this.limiter = requireNonNull(limiter);
+    }
+
+    /**
+     * Create an instance of the batching Markov Clustering algorithm wrapper supplier.
+     *
+     * @param path    the path to the MCL binary
+     * @param r       the inflation parameter
+     * @param threads the number of threads
+     */
+    public MarkovClusteringExternalBatch(Path path, double r, int threads) {
+        this(path, r, threads, SIZE, MarkovClusteringExternal.Format.ABC);
+    }
+
+    @Override
+    public ClusteringAlgorithm<V> apply(Graph<V, E> graph) {
+        requireUndirected(graph);
+
+        final Batch target;
+        final int index;
+
+        synchronized (this) {
+            int added = isNull(batch) ? -1 : batch.add(graph);
+
+            if (added < 0) {
+                batch = new Batch();
+                added = batch.add(graph);
+            }
+
+            target = batch;
+            index = added;
+        }
+
+        return () -> target.getClustering(index);
+    }
+
+    @Override
+    public EdgelessClustering getEdgelessClustering() {
+        return EdgelessClustering.SINGLETONS;
+    }
+
+    /**
+     * A batch of graphs clustered together.
+     */
+    private final class Batch {
+        /**
+         * The graphs in the batch.
+         */
+        private final List<Graph<V, E>> graphs = new ArrayList<>();
+
+        /**
+         * The total number of nodes in the batch.
+         */
+        private int nodes;
+
+        /**
+         * The parts of the closed batch, or {@code null} if the batch accepts new graphs.
+         */
+        private List<Part> parts;
+
+        /**
+         * Add the graph to this batch unless it is closed or full.
+         *
+         * @param graph the graph
+         * @return the index of the graph in the batch, or {@code -1} if the graph has not been added
+         */
+        synchronized int add(Graph<V, E> graph) {
+            if (nonNull(parts) || (!graphs.isEmpty() && nodes + graph.vertexSet().size() > size)) return -1;
+
+            graphs.add(graph);
+            nodes += graph.vertexSet().size();
+            return graphs.size() - 1;
+        }
+
+        /**
+         * Close the batch and distribute its graphs among the parts in the round-robin order, so
+         * the consecutive graphs, which are usually requested at the same time, belong to different parts.
+         *
+         * @return the parts
+         */
+        synchronized List<Part> close() {
+            if (isNull(parts)) {
+                final int count = Math.max(1, Math.min(graphs.size(), limiter.getProcesses()));
+                final var created = new ArrayList<Part>(count);
+
+                for (int p = 0; p < count; p++) {
+                    final var part = new ArrayList<Graph<V, E>>(graphs.size() / count + 1);
+                    for (int i = p; i < graphs.size(); i += count) part.add(graphs.get(i));
+                    created.add(new Part(part));
+                }
+
+                logger.log(Level.INFO, "Batching {0} graphs with {1} nodes for Markov Clustering in {2} runs.", graphs.size(), nodes, count);
+
+                graphs.clear();
+                parts = created;
+            }
+
+            return parts;
+        }
+
+        /**
+         * Get the clustering of the graph, running MCL on its part of the batch if needed.
+         *
+         * @param index the index of the graph in the batch
+         * @return the clustering
+         */
+        ClusteringAlgorithm.Clustering<V> getClustering(int index) {
+            final var parts = close();
+            return parts.get(index % parts.size()).getClustering(index / parts.size());
+        }
+    }
+
+    /**
+     * A part of the batch clustered in a single run of MCL.
+     */
+    private final class Part {
+        /**
+         * The graphs in the part, or {@code null} if they have been clustered.
+         */
+        private List<Graph<V, E>> graphs;
+
+        /**
+         * The clusterings of the graphs.
+         */
+        private List<ClusteringAlgorithm.Clustering<V>> clusterings;
+
+        /**
+         * Create a part of the batch.
+         *
+         * @param graphs the graphs
+         */
+        Part(List<Graph<V, E>> graphs) {
+            this.graphs = graphs;
+        }
+
+        /**
+         * Get the clustering of the graph, running MCL on the whole part if needed.
+         *
+         * @param index the index of the graph in the part
+         * @return the clustering
+         */
+        synchronized ClusteringAlgorithm.Clustering<V> getClustering(int index) {
+            if (isNull(clusterings)) {
+                final var union = Union.of(graphs);
+
+                // MCL refuses to process empty input, and the union can have no edges at all
+                clusterings = union.split(union.getGraph().edgeSet().isEmpty() ?
+                        Collections.emptyList() :
+                        new MarkovClusteringExternal<>(union.getGraph(), path, r, threads, limiter, format).getClustering());
+
+                graphs = null;
+            }
+
+            return clusterings.get(index);
+        }
+    }
+
+    /**
+     * The disjoint union of several graphs whose nodes are relabeled by the consecutive integers.
+     *
+     * @param <V> the type of nodes in the graphs
+     */
+    static final class Union<V> {
+        /**
+         * The union graph.
+         */
+        private final Graph<Integer, DefaultWeightedEdge> graph;
+
+        /**
+         * The indices of the graphs owning the nodes of the union.
+         */
+        private final int[] owners;
+
+        /**
+         * The original nodes of the union nodes.
+         */
+        private final List<V> labels;
+
+        /**
+         * The number of graphs.
+         */
+        private final int count;
+
+        private Union(Graph<Integer, DefaultWeightedEdge> graph, int[] owners, List<V> labels, int count) {
+            this.graph = graph;
+            this.owners = owners;
+            this.labels = labels;
+            this.count = count;
+        }
+
+        /**
+         * Build the disjoint union of the graphs. The self-loops are omitted.
+         *
+         * @param graphs the graphs
+         * @param <V>    the type of nodes in the graphs
+         * @param <E>    the type of edges in the graphs
+         * @return the union
+         */
+        static <V, E> Union<V> of(List<Graph<V, E>> graphs) {
+            final int nodes = graphs.stream().mapToInt(graph -> graph.vertexSet().size()).sum();
+            final var builder = SimpleWeightedGraph.<Integer, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class);
+            final var owners = new int[nodes];
+            final var labels = new ArrayList<V>(nodes);
+
+            for (int i = 0, offset = 0; i < graphs.size(); i++) {
+                final var graph = graphs.get(i);
+                final var mapping = new HashMap<V, Integer>(graph.vertexSet().size());
+
+                for (final var node : graph.vertexSet()) {
+                    mapping.put(node, offset);
+                    builder.addVertex(offset);
+                    owners[offset] = i;
+                    labels.add(node);
+                    offset++;
+                }
+
+                for (final var edge : graph.edgeSet()) {
+                    final int source = mapping.get(graph.getEdgeSource(edge));
+                    final int target = mapping.get(graph.getEdgeTarget(edge));
+
+                    if (source != target) builder.addEdge(source, target, graph.getEdgeWeight(edge));
+                }
+            }
+
+            return new Union<>(builder.build(), owners, labels, graphs.size());
+        }
+
+        /**
+         * Get the union graph.
+         *
+         * @return the union graph
+         */
+        Graph<Integer, DefaultWeightedEdge> getGraph() {
+            return graph;
+        }
+
+        /**
+         * Split the clusters of the union graph back per graph. Since MCL never moves the flow between
+         * the connected components, every cluster belongs to a single graph. The nodes missing
+         * in the clusters, such as the isolated ones, become singletons.
+         *
+         * @param clusters the clusters of the union graph
+         * @return the clusterings of the graphs
+         * @throws IllegalStateException if a cluster spans several graphs
+         */
+        List<ClusteringAlgorithm.Clustering<V>> split(Iterable<Set<Integer>> clusters) {
+            final var split = new ArrayList<List<Set<V>>>(count);
+            for (int i = 0; i < count; i++) split.add(new ArrayList<>());
+
+            final var seen = new BitSet(owners.length);
+
+            for (final var cluster : clusters) {
+                if (cluster.isEmpty()) continue;
+
+                final int owner = owners[cluster.iterator().next()];
+                final var set = new HashSet<V>(cluster.size());
+
+                for (final int id : cluster) {
+                    if (owners[id] != owner) {
+                        throw new IllegalStateException("Cluster spans several graphs of the batch");
+                    }
+
+                    set.add(labels.get(id));
+                    seen.set(id);
+                }
+
+                split.get(owner).add(set);
+            }
+
+            for (int id = seen.nextClearBit(0); id < owners.length; id = seen.nextClearBit(id + 1)) {
+                split.get(owners[id]).add(Set.of(labels.get(id)));
+            }
+
+            final var result = new ArrayList<ClusteringAlgorithm.Clustering<V>>(count);
+
+            for (final var list : split) {
+                result.add(new ClusteringAlgorithm.ClusteringImpl<>(list));
+            }
+
+            return result;
+        }
+    }
+}
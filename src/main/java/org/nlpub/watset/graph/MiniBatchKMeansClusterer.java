@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.ml.clustering.CentroidCluster;
+import org.apache.commons.math3.ml.clustering.Clusterable;
+import org.apache.commons.math3.ml.clustering.Clusterer;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Mini-batch k-means that updates the centers using small random samples of the points
+ * instead of the full passes of Lloyd's algorithm.
+ * <p>
+ * Each iteration assigns {@code batchSize} sampled points to their nearest centers and moves every center
+ * towards its points with the per-center learning rate that decays as the center receives more points.
+ * The final assignment of all the points to the nearest centers is performed in parallel.
+ * This trades a small loss of quality for the running time that does not grow with the number of points.
+ *
+ * @param <T> the type of points to cluster
+ * @see <a href="https://doi.org/10.1145/1772690.1772862">Sculley (WWW 2010)</a>
+ */
+public class MiniBatchKMeansClusterer<T extends Clusterable> extends Clusterer<T> {
+    /**
+     * The default batch size.
+     */
+    public static final int BATCH_SIZE = 1024;
+
+    /**
+     * The default number of iterations.
+     */
+    public static final int ITERATIONS = 100;
+
+    /**
+     * The number of clusters.
+     */
+    private final int k;
+
+    /**
+     * The batch size.
+     */
+    private final int batchSize;
+
+    /**
+     * The number of iterations.
+     */
+    private final int iterations;
+
+    /**
+     * The initialization strategy.
+     */
+    private final KMeansInitializer initializer;
+
+    /**
+     * The random number generator.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Create an instance of the clusterer with k-means++ initialization.
+     *
+     * @param k          the number of clusters
+     * @param batchSize  the batch size
+     * @param iterations the number of iterations
+     * @param random     the random number generator
+     */
+    public MiniBatchKMeansClusterer(int k, int batchSize, int iterations, RandomGenerator random) {
+        this(k, batchSize, iterations, new KMeansPlusPlusInitializer(), random);
+    }
+
+    /**
+     * Create an instance of the clusterer.
+     *
+     * @param k           the number of clusters
+     * @param batchSize   the batch size
+     * @param iterations  the number of iterations
+     * @param initializer the initialization strategy
+     * @param random      the random number generator
+     */
+    public MiniBatchKMeansClusterer(int k, int batchSize, int iterations, KMeansInitializer initializer, RandomGenerator random) {
+        super(new EuclideanDistance());
+
+        if (k < 1) throw new IllegalArgumentException("k should be positive");
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize should be positive");
+        if (iterations < 0) throw new IllegalArgumentException("iterations should be non-negative");
+
+        this.k = k;
+        this.batchSize = batchSize;
+        this.iterations = iterations;
+        this.initializer = requireNonNull(initializer);
+        this.random = requireNonNull(random);
+    }
+
+    @Override
+    public List<CentroidCluster<T>> cluster(Collection<T> points) {
+        final var list = (points instanceof List) ? (List<T>) points : new ArrayList<>(points);
+
+        final int dimensions = KMeans.dimensions(list);
+        final var data = KMeans.coordinates(list, dimensions);
+        final var centers = initializer.initialize(data, dimensions, k, random);
+        final var counts = new long[centers.length];
+        final var batch = new int[Math.min(batchSize, list.size())];
+        final var nearest = new int[batch.length];
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = random.nextInt(list.size());
+            }
+
+            // The assignments are computed before any center moves, as in the original algorithm
+            for (int i = 0; i < batch.length; i++) {
+                nearest[i] = KMeans.nearest(data, batch[i] * dimensions, centers);
+            }
+
+            for (int i = 0; i < batch.length; i++) {
+                final int offset = batch[i] * dimensions;
+                final var center = centers[nearest[i]];
+                final double eta = 1. / ++counts[nearest[i]];
+
+                for (int j = 0; j < center.length; j++) {
+                    center[j] += eta * (data[offset + j] - center[j]);
+                }
+            }
+        }
+
+        final var labels = IntStream.range(0, list.size()).parallel().
+                map(i -> KMeans.nearest(data, i * dimensions, centers)).
+                toArray();
+
+        return KMeans.toClusters(list, labels, centers);
+    }
+}
@@ -17,21 +17,50 @@
 
 package org.nlpub.watset.graph;
 
-import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.clustering.Clusterable;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.function.Supplier;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
 /**
  * Coordinates of the graph node.
+ * <p>
+ * The coordinates are either owned by this object or are a row of an {@link EmbeddingMatrix}.
+ * In the latter case, this is a lightweight view that refers to the shared array, and
+ * {@link #getPoint()} copies the row only once on the first call.
  *
  * @param <V> the type of nodes in the graph
  */
-public class NodeEmbedding<V> extends DoublePoint implements Supplier<V> {
+public class NodeEmbedding<V> implements Clusterable, Supplier<V> {
     /**
      * The node.
      */
     private final V node;
 
+    /**
+     * The array holding the coordinates.
+     */
+    private final double[] data;
+
+    /**
+     * The offset of the coordinates in {@code data}.
+     */
+    private final int offset;
+
+    /**
+     * The number of dimensions.
+     */
+    private final int dimensions;
+
+    /**
+     * The coordinates as a separate array, or {@code null} if they have not been requested yet.
+     */
+    private volatile double[] point;
+
     /**
      * Create an instance of node coordinates.
      *
@@ -39,12 +68,89 @@ public class NodeEmbedding<V> extends DoublePoint implements Supplier<V> {
      * @param point the coordinates
      */
     public NodeEmbedding(V node, double[] point) {
-        super(point);
         this.node = node;
+        this.data = requireNonNull(point);
+        this.offset = 0;
+        this.dimensions = point.length;
+        this.point = point;
+    }
+
+    /**
+     * Create a view of the node coordinates stored in the shared array.
+     *
+     * @param node       the node
+     * @param data       the array holding the coordinates
+     * @param offset     the offset of the coordinates in {@code data}
+     * @param dimensions the number of dimensions
+     */
+    public NodeEmbedding(V node, double[] data, int offset, int dimensions) {
+        Objects.checkFromIndexSize(offset, dimensions, data.length);
+
+        this.node = node;
+        this.data = data;
+        this.offset = offset;
+        this.dimensions = dimensions;
     }
 
     @Override
     public V get() {
         return node;
     }
+
+    @Override
+    public double[] getPoint() {
+        var point = this.point;
+
+        if (isNull(point)) {
+            this.point = point = Arrays.copyOfRange(data, offset, offset + dimensions);
+        }
+
+        return point;
+    }
+
+    /**
+     * Get the number of dimensions.
+     *
+     * @return the number of dimensions
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Get the coordinate without copying the coordinates.
+     *
+     * @param i the dimension
+     * @return the coordinate
+     */
+    public double getCoordinate(int i) {
+        return data[offset + Objects.checkIndex(i, dimensions)];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NodeEmbedding)) return false;
+
+        final var that = (NodeEmbedding<?>) o;
+
+        return Objects.equals(node, that.node) &&
+                Arrays.equals(data, offset, offset + dimensions, that.data, that.offset, that.offset + that.dimensions);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Objects.hashCode(node);
+
+        for (int i = offset; i < offset + dimensions; i++) {
+            hash = 31 * hash + Double.hashCode(data[i]);
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return node + "=" + Arrays.toString(getPoint());
+    }
 }
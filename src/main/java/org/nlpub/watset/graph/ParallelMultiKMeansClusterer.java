@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.ml.clustering.*;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Objects.requireNonNullElseGet;
+
+/**
+ * A multi-trial k-means clusterer that runs the trials concurrently and returns
+ * the clusters having the smallest sum of squared errors (SSE).
+ * <p>
+ * Each trial has its own random number generator seeded from the given one before
+ * running the trials, so the result does not depend on the thread scheduling.
+ * Unlike {@link MultiKMeansPlusPlusClusterer}, the trials run on the given executor or, if it is not specified,
+ * on a temporary pool of {@code threads} threads. The trials run in the calling thread when only one thread
+ * would be used.
+ *
+ * @param <T> the type of points to cluster
+ */
+public class ParallelMultiKMeansClusterer<T extends Clusterable> extends Clusterer<T> {
+    /**
+     * The factory of the clusterers for the individual trials.
+     */
+    private final Function<RandomGenerator, ? extends Clusterer<T>> factory;
+
+    /**
+     * The number of trials.
+     */
+    private final int trials;
+
+    /**
+     * The number of threads.
+     */
+    private final int threads;
+
+    /**
+     * The random number generator for seeding the trials.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * The executor running the trials, or {@code null} for a temporary pool.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Create an instance of the clusterer running {@link KMeansPlusPlusClusterer} with the Euclidean distance.
+     *
+     * @param k             the number of clusters
+     * @param maxIterations the maximal number of iterations, or a negative number for no limit
+     * @param trials        the number of trials
+     * @param threads       the number of threads
+     * @param random        the random number generator
+     */
+    public ParallelMultiKMeansClusterer(int k, int maxIterations, int trials, int threads, RandomGenerator random) {
+        this(r -> new KMeansPlusPlusClusterer<>(k, maxIterations, new EuclideanDistance(), r), trials, threads, random);
+    }
+
+    /**
+     * Create an instance of the clusterer.
+     *
+     * @param factory the factory of the clusterers for the individual trials
+     * @param trials  the number of trials
+     * @param threads the number of threads
+     * @param random  the random number generator
+     */
+    public ParallelMultiKMeansClusterer(Function<RandomGenerator, ? extends Clusterer<T>> factory, int trials, int threads, RandomGenerator random) {
+        this(factory, trials, threads, random, null);
+    }
+
+    /**
+     * Create an instance of the clusterer running the trials on the given executor that is not shut down by the clusterer.
+     *
+     * @param factory  the factory of the clusterers for the individual trials
+     * @param trials   the number of trials
+     * @param threads  the number of threads
+     * @param random   the random number generator
+     * @param executor the executor, or {@code null} for a temporary pool of {@code threads} threads
+     */
+    public ParallelMultiKMeansClusterer(Function<RandomGenerator, ? extends Clusterer<T>> factory, int trials, int threads, RandomGenerator random, ExecutorService executor) {
+        super(new EuclideanDistance());
+
+        if (trials < 1) throw new IllegalArgumentException("trials should be positive");
+        if (threads < 1) throw new IllegalArgumentException("threads should be positive");
+
+        this.factory = requireNonNull(factory);
+        this.trials = trials;
+        this.threads = threads;
+        this.random = requireNonNull(random);
+        this.executor = executor;
+    }
+
+    /**
+     * Get the number of trials.
+     *
+     * @return the number of trials
+     */
+    public int getTrials() {
+        return trials;
+    }
+
+    /**
+     * Get the number of threads.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public List<CentroidCluster<T>> cluster(Collection<T> points) {
+        final var clusterers = new ArrayList<Clusterer<T>>(trials);
+
+        synchronized (random) {
+            for (int i = 0; i < trials; i++) clusterers.add(factory.apply(new JDKRandomGenerator(random.nextInt())));
+        }
+
+        final var views = clusterers.stream().allMatch(ParallelMultiKMeansClusterer::isRowMajor) ?
+                points : materialize(points, null);
+
+        final var tasks = new ArrayList<Callable<List<CentroidCluster<T>>>>(trials);
+
+        for (final var clusterer : clusterers) {
+            final var input = isRowMajor(clusterer) ? points : views;
+            tasks.add(() -> toCentroidClusters(clusterer.cluster(input)));
+        }
+
+        if (isNull(executor) && Math.min(threads, trials) == 1) {
+            final var results = new ArrayList<List<CentroidCluster<T>>>(trials);
+
+            for (final var task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            return best(results);
+        }
+
+        final var pool = requireNonNullElseGet(executor, () -> Executors.newFixedThreadPool(Math.min(threads, trials)));
+
+        try {
+            final var results = new ArrayList<List<CentroidCluster<T>>>(trials);
+
+            for (final var future : pool.invokeAll(tasks)) results.add(future.get());
+
+            return best(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (pool != executor) pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the views of the embedding matrix rows only once for the clusterer that reads the points one by one,
+     * so its iterations share them and every row is copied by {@link NodeEmbedding#getPoint()} at most once
+     * instead of on every access. The clusterers that read the {@link EmbeddingMatrix#getData() row-major array}
+     * directly receive the matrix as is.
+     *
+     * @param points    the points
+     * @param clusterer the clusterer, or {@code null} if it is not known
+     * @param <T>       the type of points
+     * @return the points that are not created on access unless the clusterer reads the row-major array
+     */
+    static <T> Collection<T> materialize(Collection<T> points, Clusterer<?> clusterer) {
+        return points instanceof EmbeddingMatrix && !isRowMajor(clusterer) ? new ArrayList<>(points) : points;
+    }
+
+    /**
+     * Check whether the clusterer reads the row-major array of an {@link EmbeddingMatrix} instead of its elements.
+     *
+     * @param clusterer the clusterer, or {@code null}
+     * @return {@code true} if the clusterer reads the row-major array
+     */
+    private static boolean isRowMajor(Clusterer<?> clusterer) {
+        return clusterer instanceof HamerlyKMeansClusterer ||
+                clusterer instanceof MiniBatchKMeansClusterer ||
+                clusterer instanceof ParallelMultiKMeansClusterer;
+    }
+
+    /**
+     * Choose the clusters having the smallest sum of squared errors, preferring the earliest trial on ties.
+     *
+     * @param results the clusters found by the trials
+     * @return the best clusters
+     */
+    private List<CentroidCluster<T>> best(List<List<CentroidCluster<T>>> results) {
+        List<CentroidCluster<T>> best = null;
+        double bestSSE = Double.POSITIVE_INFINITY;
+
+        for (final var clusters : results) {
+            final var sse = computeSSE(clusters);
+
+            if (sse < bestSSE || best == null) {
+                best = clusters;
+                bestSSE = sse;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Compute the sum of squared Euclidean distances between the points and the centers of their clusters.
+     *
+     * @param clusters the clusters
+     * @param <T>      the type of points
+     * @return the sum of squared errors
+     */
+    public static <T extends Clusterable> double computeSSE(List<CentroidCluster<T>> clusters) {
+        double sse = 0;
+
+        for (final var cluster : clusters) {
+            final var center = cluster.getCenter().getPoint();
+
+            for (final var point : cluster.getPoints()) {
+                if (point instanceof NodeEmbedding) {
+                    // The views of an embedding matrix are read in place instead of copying their rows
+                    final var embedding = (NodeEmbedding<?>) point;
+
+                    for (int i = 0; i < center.length; i++) {
+                        final double d = embedding.getCoordinate(i) - center[i];
+                        sse += d * d;
+                    }
+                } else {
+                    sse += KMeans.distance(point.getPoint(), center);
+                }
+            }
+        }
+
+        return sse;
+    }
+
+    /**
+     * Ensure that every cluster has its center, computing the means of the points if needed.
+     *
+     * @param clusters the clusters
+     * @param <T>      the type of points
+     * @return the clusters with centers
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Clusterable> List<CentroidCluster<T>> toCentroidClusters(List<? extends Cluster<T>> clusters) {
+        final var result = new ArrayList<CentroidCluster<T>>(clusters.size());
+
+        for (final var cluster : clusters) {
+            if (cluster instanceof CentroidCluster) {
+                result.add((CentroidCluster<T>) cluster);
+                continue;
+            }
+
+            if (cluster.getPoints().isEmpty()) continue;
+
+            final var mean = new double[cluster.getPoints().get(0).getPoint().length];
+
+            for (final var point : cluster.getPoints()) {
+                final var coordinates = point.getPoint();
+                for (int i = 0; i < mean.length; i++) mean[i] += coordinates[i];
+            }
+
+            for (int i = 0; i < mean.length; i++) mean[i] /= cluster.getPoints().size();
+
+            final var centroid = new CentroidCluster<T>(new DoublePoint(mean));
+            cluster.getPoints().forEach(centroid::addPoint);
+            result.add(centroid);
+        }
+
+        return result;
+    }
+}
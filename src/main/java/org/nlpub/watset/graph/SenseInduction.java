@@ -19,13 +19,15 @@ package org.nlpub.watset.graph;
 
 import org.jgrapht.Graph;
 import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
-import org.nlpub.watset.util.Neighbors;
+import org.nlpub.watset.util.AdjacencyIndex;
+import org.nlpub.watset.util.EgoNetwork;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 import static org.jgrapht.GraphTests.requireUndirected;
 
@@ -49,6 +51,16 @@ public class SenseInduction<V, E> {
      */
     protected final ClusteringAlgorithmBuilder<V, E, ?> local;
 
+    /**
+     * The clustering of the neighborhoods without edges.
+     */
+    protected final EdgelessClustering edgeless;
+
+    /**
+     * The adjacency index of the graph, which is built on demand.
+     */
+    private volatile AdjacencyIndex<V, E> index;
+
     /**
      * Create an instance of {@code SenseInduction}.
      *
@@ -56,8 +68,109 @@ public class SenseInduction<V, E> {
      * @param local the neighborhood clustering algorithm supplier
      */
     public SenseInduction(Graph<V, E> graph, ClusteringAlgorithmBuilder<V, E, ?> local) {
+        this(graph, local, local.getEdgelessClustering());
+    }
+
+    /**
+     * Create an instance of {@code SenseInduction}.
+     *
+     * @param graph    the graph
+     * @param local    the neighborhood clustering algorithm supplier
+     * @param edgeless the clustering of the neighborhoods without edges, which are then not passed to {@code local},
+     *                 or {@link EdgelessClustering#UNKNOWN} to pass every neighborhood
+     */
+    public SenseInduction(Graph<V, E> graph, ClusteringAlgorithmBuilder<V, E, ?> local, EdgelessClustering edgeless) {
         this.graph = requireUndirected(graph);
         this.local = requireNonNull(local);
+        this.edgeless = requireNonNull(edgeless);
+    }
+
+    /**
+     * Get the adjacency index of the graph that backs the neighborhood graphs, building it on the first call.
+     *
+     * @return the adjacency index
+     */
+    public AdjacencyIndex<V, E> getIndex() {
+        var index = this.index;
+
+        if (isNull(index)) {
+            synchronized (this) {
+                index = this.index;
+
+                if (isNull(index)) this.index = index = new AdjacencyIndex<>(graph);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Get the local clustering algorithm for the neighborhood of the target node without running it.
+     * The neighborhood is a view over the {@link #getIndex() adjacency index}, so it is not copied,
+     * and it is not built at all for the {@link #isTrivial(Object) trivial} neighborhoods.
+     *
+     * @param target the target node
+     * @return the local clustering algorithm
+     */
+    public ClusteringAlgorithm<V> algorithm(V target) {
+        if (isTrivial(target)) {
+            final var index = getIndex();
+            final int i = index.indexOf(target);
+            final var nodes = index.getDegree(i) == 0 ? List.<V>of() : List.of(index.getNode(index.getNeighbor(i, 0)));
+            final var clustering = edgeless.cluster(nodes);
+            return () -> clustering;
+        }
+
+        return algorithm(egoNetwork(target));
+    }
+
+    /**
+     * Check whether the target node has at most one neighbor and the clustering of its neighborhood
+     * is therefore known without building it.
+     *
+     * @param target the target node
+     * @return {@code true} if the neighborhood is trivial and its clustering is known
+     * @see #getEdgelessClustering()
+     */
+    public boolean isTrivial(V target) {
+        final var index = getIndex();
+        return edgeless.isKnown() && index.getDegree(index.indexOf(requireNonNull(target))) <= 1;
+    }
+
+    /**
+     * Get the clustering of the neighborhoods without edges.
+     *
+     * @return the clustering of the edgeless neighborhoods
+     */
+    public EdgelessClustering getEdgelessClustering() {
+        return edgeless;
+    }
+
+    /**
+     * Get the neighborhood graph of the target node.
+     *
+     * @param target the target node
+     * @return the neighborhood graph that is a view over the {@link #getIndex() adjacency index}
+     */
+    public EgoNetwork<V, E> egoNetwork(V target) {
+        return getIndex().egoNetwork(requireNonNull(target));
+    }
+
+    /**
+     * Get the local clustering algorithm for the neighborhood graph without running it.
+     * If the graph has no edges and their {@link #getEdgelessClustering() clustering} is known,
+     * the local algorithm is not instantiated.
+     *
+     * @param ego the neighborhood graph
+     * @return the local clustering algorithm
+     */
+    public ClusteringAlgorithm<V> algorithm(EgoNetwork<V, E> ego) {
+        if (edgeless.isKnown() && ego.edgeSet().isEmpty()) {
+            final var clustering = edgeless.cluster(ego.vertexSet());
+            return () -> clustering;
+        }
+
+        return local.apply(ego);
     }
 
     /**
@@ -67,9 +180,7 @@ public class SenseInduction<V, E> {
      * @return a map of senses to their contexts
      */
     public ClusteringAlgorithm.Clustering<V> clustering(V target) {
-        final var ego = Neighbors.graph(graph, requireNonNull(target));
-        final var clustering = local.apply(ego);
-        return clustering.getClustering();
+        return algorithm(target).getClustering();
     }
 
     /**
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
+import org.nlpub.watset.util.AdjacencyIndex;
+import org.nlpub.watset.util.IndexedSense;
+import org.nlpub.watset.util.Sense;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compact sense inventory aligned with the compressed sparse row adjacency of the graph.
+ * <p>
+ * Every adjacency slot of the {@link AdjacencyIndex} stores the sense index of the node
+ * that contains the corresponding neighbor, or {@code -1} if the neighbor belongs to no sense. This takes
+ * two integers per directed edge instead of a hash map per node. The inventory is exposed in the form
+ * of {@link Map} by the read-only view {@link #asMap()}.
+ * <p>
+ * The senses of different nodes can be set concurrently.
+ *
+ * @param <V> the type of nodes in the graph
+ */
+public class SenseInventory<V> {
+    /**
+     * The adjacency index of the graph.
+     */
+    private final AdjacencyIndex<V, ?> index;
+
+    /**
+     * The sense index of the node for every adjacency slot, or {@code -1}.
+     */
+    private final int[] senses;
+
+    /**
+     * The number of senses of every node, or zero if they have not been set yet.
+     */
+    private final int[] counts;
+
+    /**
+     * Create an empty sense inventory for the graph.
+     *
+     * @param graph the graph
+     * @param <E>   the type of edges in the graph
+     */
+    public <E> SenseInventory(Graph<V, E> graph) {
+        this(new AdjacencyIndex<>(graph));
+    }
+
+    /**
+     * Create an empty sense inventory aligned with the adjacency index of the graph.
+     *
+     * @param index the adjacency index
+     */
+    public SenseInventory(AdjacencyIndex<V, ?> index) {
+        this.index = requireNonNull(index);
+        this.senses = new int[index.getSlots()];
+        Arrays.fill(senses, -1);
+        this.counts = new int[index.size()];
+    }
+
+    /**
+     * Set the senses of the node from the clustering of its neighborhood. The node
+     * receives one sense with no neighbors if the clustering is empty.
+     *
+     * @param node       the node
+     * @param clustering the clustering of the node neighborhood
+     * @throws IllegalStateException if the senses of the node are already set or a cluster contains a non-neighbor
+     */
+    public void setSenses(V node, ClusteringAlgorithm.Clustering<V> clustering) {
+        final int i = indexOf(node);
+
+        if (counts[i] != 0) {
+            throw new IllegalStateException("The target node is already in the inventory");
+        }
+
+        var sense = 0;
+
+        for (final var cluster : clustering) {
+            for (final var neighbor : cluster) {
+                final int slot = index.slotOf(i, indexOf(neighbor));
+
+                if (slot < 0) throw new IllegalStateException("The sense contains a non-neighbor: " + neighbor);
+
+                senses[slot] = sense;
+            }
+
+            sense++;
+        }
+
+        counts[i] = Math.max(1, sense);
+    }
+
+    /**
+     * Get the number of nodes.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * Get the node.
+     *
+     * @param i the node index
+     * @return the node
+     */
+    public V getNode(int i) {
+        return index.getNode(i);
+    }
+
+    /**
+     * Get the node index.
+     *
+     * @param node the node
+     * @return the node index
+     * @throws IllegalArgumentException if the node is not in the graph
+     */
+    public int indexOf(V node) {
+        return index.indexOf(node);
+    }
+
+    /**
+     * Get the number of senses of the node.
+     *
+     * @param i the node index
+     * @return the number of senses, or zero if they have not been set
+     */
+    public int getSenseCount(int i) {
+        return counts[i];
+    }
+
+    /**
+     * Get the total number of senses.
+     *
+     * @return the number of senses
+     */
+    public int getSenseCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Get the sense of the node that contains the neighbor.
+     *
+     * @param i the node index
+     * @param j the neighbor index
+     * @return the sense index, or {@code -1} if the neighbor belongs to no sense of the node
+     */
+    public int getSense(int i, int j) {
+        final int slot = index.slotOf(i, j);
+        return slot < 0 ? -1 : senses[slot];
+    }
+
+    /**
+     * Get the sense of the node.
+     *
+     * @param i     the node index
+     * @param sense the sense index
+     * @return the sense
+     */
+    public Sense<V> toSense(int i, int sense) {
+        return new IndexedSense<>(getNode(i), Objects.checkIndex(sense, counts[i]));
+    }
+
+    /**
+     * Get the number of neighbors of the node.
+     *
+     * @param i the node index
+     * @return the number of neighbors
+     */
+    public int getDegree(int i) {
+        return index.getDegree(i);
+    }
+
+    /**
+     * Get the neighbor index in the adjacency slot of the node.
+     *
+     * @param i the node index
+     * @param p the position of the neighbor among the neighbors of the node
+     * @return the neighbor index
+     */
+    public int getNeighbor(int i, int p) {
+        return index.getNeighbor(i, p);
+    }
+
+    /**
+     * Get the sense index of the node in the adjacency slot.
+     *
+     * @param i the node index
+     * @param p the position of the neighbor among the neighbors of the node
+     * @return the sense index, or {@code -1} if the neighbor belongs to no sense of the node
+     */
+    public int getSenseAt(int i, int p) {
+        return senses[index.getOffset(i) + Objects.checkIndex(p, getDegree(i))];
+    }
+
+    /**
+     * Get the read-only view of the inventory that maps every node to the map of its neighbors
+     * to the sense indices. The neighbors belonging to no sense are omitted.
+     *
+     * @return the inventory view
+     */
+    public Map<V, Map<V, Integer>> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<V, Map<V, Integer>>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<V, Map<V, Integer>>> iterator() {
+                        return IntStream.range(0, size()).
+                                mapToObj(i -> (Entry<V, Map<V, Integer>>) new SimpleImmutableEntry<>(getNode(i), row(i))).
+                                iterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return SenseInventory.this.size();
+                    }
+                };
+            }
+
+            @Override
+            public Map<V, Integer> get(Object key) {
+                final var i = index.getMapping().getVertexMap().get(key);
+                return isNull(i) ? null : row(i);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return index.getMapping().getVertexMap().containsKey(key);
+            }
+        };
+    }
+
+    /**
+     * Get the read-only view of the neighbors of the node and their sense indices.
+     *
+     * @param i the node index
+     * @return the row view
+     */
+    private Map<V, Integer> row(int i) {
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<V, Integer>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<V, Integer>> iterator() {
+                        return IntStream.range(0, getDegree(i)).
+                                filter(p -> getSenseAt(i, p) >= 0).
+                                mapToObj(p -> (Entry<V, Integer>) new SimpleImmutableEntry<>(getNode(getNeighbor(i, p)), getSenseAt(i, p))).
+                                iterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return (int) IntStream.range(0, getDegree(i)).filter(p -> getSenseAt(i, p) >= 0).count();
+                    }
+                };
+            }
+
+            @Override
+            public Integer get(Object key) {
+                final var j = index.getMapping().getVertexMap().get(key);
+                if (isNull(j)) return null;
+                final int sense = getSense(i, j);
+                return sense < 0 ? null : sense;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return nonNull(get(key));
+            }
+        };
+    }
+}
@@ -44,6 +44,11 @@ public class SingletonClustering<V, E> implements ClusteringAlgorithm<V> {
         public SingletonClustering<V, E> apply(Graph<V, E> graph) {
             return new SingletonClustering<>(graph);
         }
+
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.SINGLETONS;
+        }
     }
 
     /**
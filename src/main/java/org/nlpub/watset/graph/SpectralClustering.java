@@ -25,10 +25,12 @@ import org.jgrapht.util.VertexToIntegerMapping;
 import org.nlpub.watset.util.Matrices;
 
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
+import static java.util.Objects.requireNonNullElseGet;
 import static org.jgrapht.GraphTests.requireUndirected;
 
 /**
@@ -51,6 +53,9 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
     public static class Builder<V, E> implements ClusteringAlgorithmBuilder<V, E, SpectralClustering<V, E>> {
         private Clusterer<NodeEmbedding<V>> clusterer;
         private Integer k;
+        private Matrices.Eigensolver eigensolver = Matrices.Eigensolver.DENSE;
+        private int landmarks;
+        private Random random;
 
         /**
          * Set the underlying clustering algorithm.
@@ -74,9 +79,46 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
             return this;
         }
 
+        /**
+         * Set the eigensolver for computing the spectral embedding.
+         *
+         * @param eigensolver the eigensolver
+         * @return the builder
+         */
+        public Builder<V, E> setEigensolver(Matrices.Eigensolver eigensolver) {
+            this.eigensolver = requireNonNull(eigensolver);
+            return this;
+        }
+
+        /**
+         * Set the number of landmarks for the approximate Nyström embedding.
+         * The zero value, which is the default, disables the approximation.
+         *
+         * @param landmarks the number of landmarks
+         * @return the builder
+         * @see Matrices#computeNystromSpectralEmbedding(Graph, VertexToIntegerMapping, int, int, Random)
+         */
+        public Builder<V, E> setLandmarks(int landmarks) {
+            this.landmarks = landmarks;
+            return this;
+        }
+
+        /**
+         * Set the random number generator for sampling the landmarks. By default, every instance
+         * of the algorithm samples them with its own generator seeded with {@link #SEED}, so the results are reproducible.
+         *
+         * @param random the random number generator, or {@code null} for the default one
+         * @return the builder
+         */
+        public Builder<V, E> setRandom(Random random) {
+            this.random = random;
+            return this;
+        }
+
         @Override
         public SpectralClustering<V, E> apply(Graph<V, E> graph) {
-            return new SpectralClustering<>(graph, clusterer, requireNonNull(k, "k must be specified"));
+            return new SpectralClustering<>(graph, clusterer, requireNonNull(k, "k must be specified"), eigensolver, landmarks,
+                    requireNonNullElseGet(random, () -> new Random(SEED)));
         }
     }
 
@@ -91,6 +133,11 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
         return new Builder<>();
     }
 
+    /**
+     * The default seed for sampling the landmarks.
+     */
+    public static final long SEED = 1337;
+
     /**
      * The graph.
      */
@@ -106,6 +153,21 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
      */
     private final int k;
 
+    /**
+     * The eigensolver.
+     */
+    private final Matrices.Eigensolver eigensolver;
+
+    /**
+     * The number of landmarks, or zero for the exact embedding.
+     */
+    private final int landmarks;
+
+    /**
+     * The random number generator.
+     */
+    private final Random random;
+
     /**
      * The cached clustering result.
      */
@@ -119,15 +181,44 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
      * @param k         the number of clusters
      */
     public SpectralClustering(Graph<V, E> graph, Clusterer<NodeEmbedding<V>> clusterer, int k) {
+        this(graph, clusterer, k, Matrices.Eigensolver.DENSE);
+    }
+
+    /**
+     * Create an instance of the Spectral Clustering algorithm.
+     *
+     * @param graph       the graph
+     * @param clusterer   the clustering algorithm
+     * @param k           the number of clusters
+     * @param eigensolver the eigensolver
+     */
+    public SpectralClustering(Graph<V, E> graph, Clusterer<NodeEmbedding<V>> clusterer, int k, Matrices.Eigensolver eigensolver) {
+        this(graph, clusterer, k, eigensolver, 0, new Random(SEED));
+    }
+
+    /**
+     * Create an instance of the Spectral Clustering algorithm.
+     *
+     * @param graph       the graph
+     * @param clusterer   the clustering algorithm
+     * @param k           the number of clusters
+     * @param eigensolver the eigensolver
+     * @param landmarks   the number of landmarks for the Nyström embedding, or zero for the exact embedding
+     * @param random      the random number generator
+     */
+    public SpectralClustering(Graph<V, E> graph, Clusterer<NodeEmbedding<V>> clusterer, int k, Matrices.Eigensolver eigensolver, int landmarks, Random random) {
         this.graph = requireUndirected(graph);
         this.clusterer = clusterer;
         this.k = k;
+        this.eigensolver = requireNonNull(eigensolver);
+        this.landmarks = landmarks;
+        this.random = requireNonNull(random);
     }
 
     @Override
     public Clustering<V> getClustering() {
         if (isNull(clustering)) {
-            clustering = new Implementation<>(graph, clusterer, k).compute();
+            clustering = new Implementation<>(graph, clusterer, k, eigensolver, landmarks, random).compute();
         }
 
         return clustering;
@@ -163,9 +254,50 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
          * @param k         the number of clusters
          */
         public Implementation(Graph<V, E> graph, Clusterer<NodeEmbedding<V>> clusterer, int k) {
+            this(graph, clusterer, k, Matrices.Eigensolver.DENSE);
+        }
+
+        /**
+         * Create an instance of the Spectral Clustering algorithm implementation.
+         *
+         * @param graph       the graph
+         * @param clusterer   the clustering algorithm
+         * @param k           the number of clusters
+         * @param eigensolver the eigensolver
+         */
+        public Implementation(Graph<V, E> graph, Clusterer<NodeEmbedding<V>> clusterer, int k, Matrices.Eigensolver eigensolver) {
+            this(graph, clusterer, k, eigensolver, 0, new Random(SEED));
+        }
+
+        /**
+         * Create an instance of the Spectral Clustering algorithm implementation.
+         *
+         * @param graph       the graph
+         * @param clusterer   the clustering algorithm
+         * @param k           the number of clusters
+         * @param eigensolver the eigensolver
+         * @param landmarks   the number of landmarks for the Nyström embedding, or zero for the exact embedding
+         * @param random      the random number generator
+         */
+        public Implementation(Graph<V, E> graph, Clusterer<NodeEmbedding<V>> clusterer, int k, Matrices.Eigensolver eigensolver, int landmarks, Random random) {
             this.clusterer = clusterer;
             this.mapping = Graphs.getVertexToIntegerMapping(graph);
-            this.embeddings = Matrices.computeSpectralEmbedding(graph, mapping, k);
+            this.embeddings = landmarks > 0 ?
+                    Matrices.computeNystromSpectralEmbedding(graph, mapping, k, Math.min(landmarks, graph.vertexSet().size()), random) :
+                    Matrices.computeSpectralEmbedding(graph, mapping, k, eigensolver);
+        }
+
+        /**
+         * Create an instance of the Spectral Clustering algorithm implementation over the pre-computed embeddings.
+         *
+         * @param clusterer  the clustering algorithm
+         * @param mapping    the mapping of graph nodes to the rows of the embeddings
+         * @param embeddings the node embeddings
+         */
+        public Implementation(Clusterer<NodeEmbedding<V>> clusterer, VertexToIntegerMapping<V> mapping, List<NodeEmbedding<V>> embeddings) {
+            this.clusterer = clusterer;
+            this.mapping = requireNonNull(mapping);
+            this.embeddings = requireNonNull(embeddings);
         }
 
         /**
@@ -174,7 +306,7 @@ public class SpectralClustering<V, E> implements ClusteringAlgorithm<V> {
          * @return the clustering
          */
         public Clustering<V> compute() {
-            final var clusters = clusterer.cluster(embeddings);
+            final var clusters = clusterer.cluster(ParallelMultiKMeansClusterer.materialize(embeddings, clusterer));
 
             return new ClusteringImpl<>(clusters.stream().
                     map(cluster -> cluster.getPoints().stream().
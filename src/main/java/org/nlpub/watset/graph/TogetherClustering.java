@@ -43,6 +43,11 @@ public class TogetherClustering<V, E> implements ClusteringAlgorithm<V> {
         public TogetherClustering<V, E> apply(Graph<V, E> graph) {
             return new TogetherClustering<>(graph);
         }
+
+        @Override
+        public EdgelessClustering getEdgelessClustering() {
+            return EdgelessClustering.TOGETHER;
+        }
     }
 
     /**
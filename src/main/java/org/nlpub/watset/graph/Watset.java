@@ -22,13 +22,19 @@ import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
 import org.jgrapht.graph.AsUnmodifiableGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleWeightedGraph;
-import org.nlpub.watset.util.IndexedSense;
+import org.nlpub.watset.util.EgoNetworks;
 import org.nlpub.watset.util.Sense;
 
 import java.lang.System.Logger.Level;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Objects.*;
 import static org.jgrapht.GraphTests.requireUndirected;
@@ -55,10 +61,12 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
     public static class Builder<V, E> implements ClusteringAlgorithmBuilder<V, E, Watset<V, E>> {
         private ClusteringAlgorithmBuilder<V, E, ?> local;
         private ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global;
+        private int threads = THREADS;
+        private Executor executor;
 
         @Override
         public Watset<V, E> apply(Graph<V, E> graph) {
-            return new Watset<>(graph, local, global);
+            return new Watset<>(graph, local, global, threads, executor);
         }
 
         /**
@@ -82,6 +90,30 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
             this.global = requireNonNull(global);
             return this;
         }
+
+        /**
+         * Set the number of threads that induce the node senses.
+         *
+         * @param threads the number of threads
+         * @return the builder
+         */
+        public Builder<V, E> setThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Set the executor that runs the threads inducing the node senses. The executor is not shut down by Watset.
+         * By default, a dedicated thread pool is created for every computation. Unless the executor is
+         * a {@link ForkJoinPool}, the parallel stages of the computation still run in a dedicated {@link ForkJoinPool}.
+         *
+         * @param executor the executor, or {@code null} for a dedicated thread pool
+         * @return the builder
+         */
+        public Builder<V, E> setExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
     }
 
     /**
@@ -95,6 +127,11 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
         return new Builder<>();
     }
 
+    /**
+     * The default number of threads, which is the number of available processors.
+     */
+    public static final int THREADS = Runtime.getRuntime().availableProcessors();
+
     private static final System.Logger logger = System.getLogger(Watset.class.getSimpleName());
 
     /**
@@ -112,6 +149,16 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
      */
     protected final ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global;
 
+    /**
+     * The number of threads that induce the node senses.
+     */
+    protected final int threads;
+
+    /**
+     * The executor that runs these threads, or {@code null} for a dedicated thread pool.
+     */
+    protected final Executor executor;
+
     /**
      * The cached clustering result.
      */
@@ -125,15 +172,32 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
      * @param global the global clustering algorithm supplier
      */
     public Watset(Graph<V, E> graph, ClusteringAlgorithmBuilder<V, E, ?> local, ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global) {
+        this(graph, local, global, THREADS, null);
+    }
+
+    /**
+     * Create an instance of the Watset clustering algorithm.
+     *
+     * @param graph    the graph
+     * @param local    the local clustering algorithm supplier
+     * @param global   the global clustering algorithm supplier
+     * @param threads  the number of threads that induce the node senses
+     * @param executor the executor that runs these threads, or {@code null} for a dedicated thread pool
+     */
+    public Watset(Graph<V, E> graph, ClusteringAlgorithmBuilder<V, E, ?> local, ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global, int threads, Executor executor) {
+        if (threads < 1) throw new IllegalArgumentException("threads should be positive");
+
         this.graph = requireUndirected(graph);
         this.inducer = new SenseInduction<>(graph, requireNonNull(local));
         this.global = requireNonNull(global);
+        this.threads = threads;
+        this.executor = executor;
     }
 
     @Override
     public WatsetClustering<V> getClustering() {
         if (isNull(clustering)) {
-            clustering = new Implementation<>(graph, inducer, global).compute();
+            clustering = new Implementation<>(graph, inducer, global, threads, executor).compute();
         }
 
         return clustering;
@@ -146,6 +210,11 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
      * @param <E> the type of edges in the graph
      */
     public static class Implementation<V, E> {
+        /**
+         * The number of nodes whose local clustering algorithms are instantiated at once.
+         */
+        public static final int CHUNK = 1 << 14;
+
         /**
          * The graph.
          */
@@ -162,14 +231,25 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
         protected final ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global;
 
         /**
-         * The sense inventory.
+         * The number of threads that induce the node senses.
          */
-        protected final Map<V, Map<V, Integer>> inventory;
+        protected final int threads;
 
         /**
-         * The sense mapping.
+         * The executor that runs these threads, or {@code null} for a dedicated thread pool.
          */
-        protected final Map<V, List<Sense<V>>> senses;
+        protected final Executor executor;
+
+        /**
+         * The sense inventory, which is created by {@link #buildInventory()}.
+         */
+        protected SenseInventory<V> inventory;
+
+        /**
+         * The pool running the parallel streams during {@link #compute()}: the executor if it is
+         * a {@link ForkJoinPool}, or a dedicated pool of {@link #threads} threads otherwise.
+         */
+        protected ForkJoinPool pool;
 
         /**
          * Create an instance of the Watset clustering algorithm implementation.
@@ -179,11 +259,24 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
          * @param global  the global clustering algorithm supplier
          */
         public Implementation(Graph<V, E> graph, SenseInduction<V, E> inducer, ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global) {
+            this(graph, inducer, global, THREADS, null);
+        }
+
+        /**
+         * Create an instance of the Watset clustering algorithm implementation.
+         *
+         * @param graph    the graph
+         * @param inducer  the node sense induction approach
+         * @param global   the global clustering algorithm supplier
+         * @param threads  the number of threads that induce the node senses
+         * @param executor the executor that runs these threads, or {@code null} for a dedicated thread pool
+         */
+        public Implementation(Graph<V, E> graph, SenseInduction<V, E> inducer, ClusteringAlgorithmBuilder<Sense<V>, DefaultWeightedEdge, ?> global, int threads, Executor executor) {
             this.graph = graph;
             this.inducer = inducer;
             this.global = global;
-            this.inventory = new ConcurrentHashMap<>(graph.vertexSet().size());
-            this.senses = new ConcurrentHashMap<>(graph.vertexSet().size());
+            this.threads = threads;
+            this.executor = executor;
         }
 
         /**
@@ -194,24 +287,32 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
         public WatsetClustering<V> compute() {
             logger.log(Level.INFO, "Watset started.");
 
-            buildInventory();
+            pool = executor instanceof ForkJoinPool ? (ForkJoinPool) executor : new ForkJoinPool(threads);
 
-            final var count = senses.values().stream().mapToInt(List::size).sum();
-            logger.log(Level.INFO, "Watset: sense inventory constructed including {0} senses.", count);
+            final Graph<Sense<V>, DefaultWeightedEdge> senseGraph;
+            final ClusteringAlgorithm.Clustering<Sense<V>> senseClusters;
 
-            final var senseGraph = buildSenseGraph();
+            try {
+                buildInventory();
 
-            if (graph.edgeSet().size() != senseGraph.edgeSet().size()) {
-                throw new IllegalStateException("Mismatch in number of edges: expected " +
-                        graph.edgeSet().size() +
-                        ", but got " +
-                        senseGraph.edgeSet().size());
-            }
+                logger.log(Level.INFO, "Watset: sense inventory constructed including {0} senses.", inventory.getSenseCount());
 
-            logger.log(Level.INFO, "Watset: sense graph constructed.");
+                senseGraph = buildSenseGraph();
 
-            final var globalAlgorithm = global.apply(senseGraph);
-            final var senseClusters = globalAlgorithm.getClustering();
+                if (graph.edgeSet().size() != senseGraph.edgeSet().size()) {
+                    throw new IllegalStateException("Mismatch in number of edges: expected " +
+                            graph.edgeSet().size() +
+                            ", but got " +
+                            senseGraph.edgeSet().size());
+                }
+
+                logger.log(Level.INFO, "Watset: sense graph constructed.");
+
+                // The global algorithm runs in the pool, too, so its parallel streams do not use the common pool
+                senseClusters = join(CompletableFuture.supplyAsync(() -> global.apply(senseGraph).getClustering(), pool));
+            } finally {
+                if (pool != executor) pool.shutdownNow();
+            }
 
             logger.log(Level.INFO, "Watset finished.");
 
@@ -220,70 +321,199 @@ public class Watset<V, E> implements ClusteringAlgorithm<V> {
                     collect(Collectors.toList());
 
             return new WatsetClustering.WatsetClusteringImpl<>(clusters,
-                    Collections.unmodifiableMap(inventory),
+                    inventory.asMap(),
                     new AsUnmodifiableGraph<>(senseGraph));
         }
 
         /**
-         * Build a node sense inventory; fill in variables {@code senses} and {@code inventory}.
+         * Build a node sense inventory; fill in the variable {@code inventory}.
+         * <p>
+         * The nodes are processed in chunks of {@link #CHUNK}. Within a chunk, all the local clustering
+         * algorithms are instantiated before any of them is run, so the batching algorithms, such as
+         * {@link MarkovClusteringExternalBatch}, can process the whole chunk at once.
+         * <p>
+         * The neighborhoods of all the nodes are built at once by listing the triangles of the graph
+         * with {@link EgoNetworks}, which also gives their numbers of edges in advance; if they do not fit in memory,
+         * they are built one by one instead. The work is then scheduled
+         * largest-first by these numbers on {@link #threads} threads of the {@link #executor}, which take
+         * the nodes one by one, so the hubs do not start last.
+         * <p>
+         * The adjacency index and the neighborhoods are built with the parallel streams in the {@link #pool}
+         * instead of the common pool. If the executor is not specified, the pool runs the rest of the work, too.
          */
         protected void buildInventory() {
-            graph.vertexSet().parallelStream().forEach(node -> {
-                final var clustering = inducer.clustering(node);
+            final var pool = requireNonNull(this.pool, "pool is available only during compute()");
+            final var runner = requireNonNullElse(executor, pool);
 
-                if (nonNull(inventory.put(node, new HashMap<>()))) {
-                    throw new IllegalStateException("The target node is already in the inventory");
-                }
+            final var index = join(CompletableFuture.supplyAsync(inducer::getIndex, pool));
+            final var egos = join(CompletableFuture.supplyAsync(() -> new EgoNetworks<>(index), pool));
 
-                if (nonNull(senses.put(node, new ArrayList<>(clustering.getNumberClusters())))) {
-                    throw new IllegalStateException("The target node is already in the sense index");
-                }
+            inventory = new SenseInventory<>(index);
+            final var order = largestFirst(IntStream.range(0, index.size()).map(egos::getEdgeCount).toArray());
 
-                if (clustering.getNumberClusters() == 0) {
-                    senses.get(node).add(new IndexedSense<>(node, 0));
-                }
+            if (egos.isStored()) {
+                logger.log(Level.INFO, "Watset: neighborhoods of {0} nodes constructed.", order.length);
+            } else {
+                logger.log(Level.WARNING, "Watset: the graph has too many triangles, so the neighborhoods of {0} nodes are constructed one by one.", order.length);
+            }
 
-                var i = 0;
+            for (int offset = 0; offset < order.length; offset += CHUNK) {
+                final var chunk = Arrays.copyOfRange(order, offset, Math.min(offset + CHUNK, order.length));
+                final var algorithms = new ArrayList<ClusteringAlgorithm<V>>(Collections.nCopies(chunk.length, null));
 
-                for (final var cluster : clustering) {
-                    senses.get(node).add(i, new IndexedSense<>(node, i));
+                schedule(runner, chunk.length, k -> {
+                    final var node = index.getNode(chunk[k]);
 
-                    for (final var neighbor : cluster) {
-                        inventory.get(node).put(neighbor, i);
-                    }
+                    algorithms.set(k, inducer.isTrivial(node) ?
+                            inducer.algorithm(node) :
+                            inducer.algorithm(egos.get(chunk[k])));
+                });
 
-                    i++;
-                }
-            });
+                schedule(runner, chunk.length, k ->
+                        addToInventory(index.getNode(chunk[k]), algorithms.get(k).getClustering()));
+            }
+        }
+
+        /**
+         * Sort the positions in the descending order of their costs; the ties are resolved by the positions.
+         *
+         * @param costs the non-negative costs
+         * @return the positions
+         */
+        private static int[] largestFirst(int[] costs) {
+            final var keys = new long[costs.length];
+
+            for (int i = 0; i < costs.length; i++) keys[i] = (long) (Integer.MAX_VALUE - costs[i]) << 32 | i;
+
+            Arrays.sort(keys);
+
+            return Arrays.stream(keys).mapToInt(key -> (int) key).toArray();
+        }
+
+        /**
+         * Run the action for the positions from zero to {@code size - 1} on {@link #threads} threads of the executor.
+         * The threads take the positions one by one in the ascending order, and they stop taking them
+         * as soon as the action fails on any of the threads.
+         *
+         * @param executor the executor
+         * @param size     the number of positions
+         * @param action   the action
+         */
+        private void schedule(Executor executor, int size, IntConsumer action) {
+            final var cursor = new AtomicInteger();
+
+            final var futures = IntStream.range(0, Math.min(threads, size)).
+                    mapToObj(t -> CompletableFuture.runAsync(() -> {
+                        for (int k = cursor.getAndIncrement(); k < size; k = cursor.getAndIncrement()) {
+                            try {
+                                action.accept(k);
+                            } catch (RuntimeException | Error e) {
+                                cursor.set(size);
+                                throw e;
+                            }
+                        }
+                    }, executor)).
+                    toArray(CompletableFuture[]::new);
+
+            try {
+                join(CompletableFuture.allOf(futures));
+            } finally {
+                cursor.set(size);
+            }
+        }
+
+        /**
+         * Wait for the result of the asynchronous computation and rethrow its exception, if any.
+         *
+         * @param future the asynchronous computation
+         * @param <T>    the type of the result
+         * @return the result
+         */
+        private static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                if (e.getCause() instanceof Error) throw (Error) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        /**
+         * Add the induced senses of the node to the variable {@code inventory}.
+         *
+         * @param node       the node
+         * @param clustering the clustering of the node neighborhood
+         */
+        protected void addToInventory(V node, ClusteringAlgorithm.Clustering<V> clustering) {
+            inventory.setSenses(node, clustering);
         }
 
         /**
          * Build an intermediate sense-aware representation of the input graph called the <em>node sense graph</em>.
+         * <p>
+         * Only the lookups run in parallel in the {@link #pool}: the senses of every node are created and
+         * the senses of both endpoints of every edge are resolved. The graph itself is assembled sequentially,
+         * since the graphs of JGraphT are not thread-safe: all the senses are added in the order of the input nodes,
+         * and then the resolved edges are added in the order of the input edges.
          *
          * @return the sense graph
          */
         protected Graph<Sense<V>, DefaultWeightedEdge> buildSenseGraph() {
-            final var builder = SimpleWeightedGraph.<Sense<V>, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class);
+            final var pool = requireNonNull(this.pool, "pool is available only during compute()");
+            final int n = inventory.size();
 
-            for (final var sourceEntry : inventory.entrySet()) {
-                if (sourceEntry.getValue().isEmpty()) {
-                    builder.addVertex(new IndexedSense<>(sourceEntry.getKey(), 0));
-                }
+            // Sense j of node i is the vertex at first[i] + j
+            final var first = new int[n + 1];
+
+            for (int i = 0; i < n; i++) first[i + 1] = first[i] + inventory.getSenseCount(i);
 
-                final var source = sourceEntry.getKey();
+            @SuppressWarnings("unchecked") final var vertices = (Sense<V>[]) new Sense[first[n]];
 
-                for (final var target : sourceEntry.getValue().keySet()) {
-                    final var sourceSense = requireNonNull(senses.get(source).get(inventory.get(source).get(target)));
-                    final var targetSense = requireNonNull(senses.get(target).get(inventory.get(target).get(source)));
+            join(CompletableFuture.runAsync(() -> IntStream.range(0, n).parallel().forEach(i -> {
+                for (int j = 0; j < inventory.getSenseCount(i); j++) vertices[first[i] + j] = inventory.toSense(i, j);
+            }), pool));
 
-                    final var edge = requireNonNull(graph.getEdge(source, target));
-                    final var weight = graph.getEdgeWeight(edge);
+            final var edges = new ArrayList<>(graph.edgeSet());
+            final var sources = new int[edges.size()];
+            final var targets = new int[edges.size()];
+            final var weights = new double[edges.size()];
 
-                    builder.addEdge(sourceSense, targetSense, weight);
+            join(CompletableFuture.runAsync(() -> IntStream.range(0, edges.size()).parallel().forEach(k -> {
+                final var edge = edges.get(k);
+                final int source = inventory.indexOf(graph.getEdgeSource(edge));
+                final int target = inventory.indexOf(graph.getEdgeTarget(edge));
+
+                final int sourceSense = inventory.getSense(source, target);
+                final int targetSense = inventory.getSense(target, source);
+
+                // The edges missing in the inventory are reported by the edge count check
+                if (sourceSense < 0 || targetSense < 0) {
+                    sources[k] = -1;
+                    return;
                 }
+
+                sources[k] = first[source] + sourceSense;
+                targets[k] = first[target] + targetSense;
+                weights[k] = graph.getEdgeWeight(edge);
+            }), pool));
+
+            final var senseGraph = new SimpleWeightedGraph<Sense<V>, DefaultWeightedEdge>(DefaultWeightedEdge.class);
+
+            for (final var vertex : vertices) senseGraph.addVertex(vertex);
+
+            for (int k = 0; k < sources.length; k++) {
+                if (sources[k] < 0) continue;
+
+                final var edge = senseGraph.addEdge(vertices[sources[k]], vertices[targets[k]]);
+
+                if (nonNull(edge)) senseGraph.setEdgeWeight(edge, weights[k]);
             }
 
-            return builder.build();
+            return senseGraph;
         }
     }
 }
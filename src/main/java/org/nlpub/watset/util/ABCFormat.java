@@ -21,6 +21,8 @@ import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleWeightedGraph;
 
+import java.io.IOException;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -68,4 +70,40 @@ public final class ABCFormat {
     public static Graph<String, DefaultWeightedEdge> parse(Stream<String> stream) {
         return parse(stream, SEPARATOR);
     }
+
+    /**
+     * Write the graph as ABC-formatted edges.
+     * <p>
+     * The weights are written in the shortest notation that is parsed back to the same value,
+     * so integral weights are written without the fraction part, e.g., {@code 1} instead of {@code 1.000000}.
+     *
+     * @param graph  the graph
+     * @param writer the edge list writer
+     * @param label  the function that returns the label of the node
+     * @param <V>    the type of nodes in the graph
+     * @param <E>    the type of edges in the graph
+     * @throws IOException if an I/O error occurs
+     * @see EdgeListWriter#formatDouble(byte[], int, double)
+     */
+    public static <V, E> void write(Graph<V, E> graph, EdgeListWriter writer, Function<? super V, ? extends CharSequence> label) throws IOException {
+        for (final var edge : graph.edgeSet()) {
+            writer.writeEdge(
+                    label.apply(graph.getEdgeSource(edge)),
+                    label.apply(graph.getEdgeTarget(edge)),
+                    graph.getEdgeWeight(edge));
+        }
+    }
+
+    /**
+     * Write the graph as ABC-formatted edges, labeling the nodes with {@link String#valueOf(Object)}.
+     *
+     * @param graph  the graph
+     * @param writer the edge list writer
+     * @param <V>    the type of nodes in the graph
+     * @param <E>    the type of edges in the graph
+     * @throws IOException if an I/O error occurs
+     */
+    public static <V, E> void write(Graph<V, E> graph, EdgeListWriter writer) throws IOException {
+        write(graph, writer, String::valueOf);
+    }
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.util.VertexToIntegerMapping;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.jgrapht.GraphTests.requireUndirected;
+
+/**
+ * An immutable adjacency index of the undirected graph in the compressed sparse row format.
+ * <p>
+ * The neighbors of the node {@code i} are the node indices {@code neighbors[offsets[i]], ..., neighbors[offsets[i + 1] - 1]}
+ * sorted in the ascending order, and each of these adjacency slots also stores the edge connecting
+ * the node to the neighbor. The loops are ignored, and only the first one of the multiple edges is kept.
+ * The index is shared by the ego networks returned by {@link #egoNetwork(Object)}, which are the views
+ * of the graph that do not copy its nodes and edges.
+ *
+ * @param <V> the type of nodes in the graph
+ * @param <E> the type of edges in the graph
+ */
+public class AdjacencyIndex<V, E> {
+    /**
+     * The graph.
+     */
+    final Graph<V, E> graph;
+
+    /**
+     * The mapping of nodes to their indices.
+     */
+    final VertexToIntegerMapping<V> mapping;
+
+    /**
+     * The offsets of the adjacency rows; this array has one more element than there are nodes.
+     */
+    final int[] offsets;
+
+    /**
+     * The sorted neighbor indices of every node.
+     */
+    final int[] neighbors;
+
+    /**
+     * The edges in the adjacency slots.
+     */
+    final E[] edges;
+
+    /**
+     * The per-thread membership bitmaps over the node indices, which are all zero between the uses.
+     */
+    private final ThreadLocal<long[]> bitmaps;
+
+    /**
+     * Create an adjacency index of the graph.
+     *
+     * @param graph the graph
+     */
+    public AdjacencyIndex(Graph<V, E> graph) {
+        this.graph = requireUndirected(graph);
+        this.mapping = Graphs.getVertexToIntegerMapping(graph);
+
+        final var nodes = mapping.getIndexList();
+        final var vertexMap = mapping.getVertexMap();
+        final int n = nodes.size();
+        final var rows = new int[n][];
+        @SuppressWarnings("unchecked") final var rowEdges = (E[][]) new Object[n][];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            final var node = nodes.get(i);
+            @SuppressWarnings("unchecked") final var incident = (E[]) graph.edgesOf(node).toArray();
+
+            // The neighbor index in the high bits and the edge position in the low bits sort the edges by neighbor
+            final var keys = new long[incident.length];
+            int size = 0;
+
+            for (int p = 0; p < incident.length; p++) {
+                final int j = vertexMap.get(Graphs.getOppositeVertex(graph, incident[p], node));
+                if (j != i) keys[size++] = (long) j << 32 | p;
+            }
+
+            Arrays.sort(keys, 0, size);
+
+            final var row = new int[size];
+            @SuppressWarnings("unchecked") final var edges = (E[]) new Object[size];
+            int length = 0;
+
+            for (int p = 0; p < size; p++) {
+                final int j = (int) (keys[p] >>> 32);
+
+                if (length > 0 && row[length - 1] == j) continue;
+
+                row[length] = j;
+                edges[length++] = incident[(int) keys[p]];
+            }
+
+            rows[i] = Arrays.copyOf(row, length);
+            rowEdges[i] = Arrays.copyOf(edges, length);
+        });
+
+        this.offsets = new int[n + 1];
+
+        for (int i = 0; i < n; i++) offsets[i + 1] = offsets[i] + rows[i].length;
+
+        this.neighbors = new int[offsets[n]];
+        @SuppressWarnings("unchecked") final var edges = (E[]) new Object[offsets[n]];
+        this.edges = edges;
+
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(rows[i], 0, neighbors, offsets[i], rows[i].length);
+            System.arraycopy(rowEdges[i], 0, edges, offsets[i], rowEdges[i].length);
+        }
+
+        this.bitmaps = ThreadLocal.withInitial(() -> new long[(n + Long.SIZE - 1) / Long.SIZE]);
+    }
+
+    /**
+     * Get the graph.
+     *
+     * @return the graph
+     */
+    public Graph<V, E> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Get the mapping of nodes to their indices.
+     *
+     * @return the mapping
+     */
+    public VertexToIntegerMapping<V> getMapping() {
+        return mapping;
+    }
+
+    /**
+     * Get the number of nodes.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Get the node.
+     *
+     * @param i the node index
+     * @return the node
+     */
+    public V getNode(int i) {
+        return mapping.getIndexList().get(i);
+    }
+
+    /**
+     * Get the node index.
+     *
+     * @param node the node
+     * @return the node index
+     * @throws IllegalArgumentException if the node is not in the graph
+     */
+    public int indexOf(V node) {
+        final var index = mapping.getVertexMap().get(node);
+
+        if (isNull(index)) throw new IllegalArgumentException("no such node in the graph: " + node);
+
+        return index;
+    }
+
+    /**
+     * Get the number of neighbors of the node.
+     *
+     * @param i the node index
+     * @return the number of neighbors
+     */
+    public int getDegree(int i) {
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * Get the first adjacency slot of the node; the slots of its neighbors are consecutive.
+     *
+     * @param i the node index
+     * @return the slot of the first neighbor
+     */
+    public int getOffset(int i) {
+        return offsets[i];
+    }
+
+    /**
+     * Get the total number of adjacency slots, which is twice the number of edges in the index.
+     *
+     * @return the number of slots
+     */
+    public int getSlots() {
+        return neighbors.length;
+    }
+
+    /**
+     * Get the neighbor index in the adjacency slot of the node.
+     *
+     * @param i the node index
+     * @param p the position of the neighbor among the neighbors of the node
+     * @return the neighbor index
+     */
+    public int getNeighbor(int i, int p) {
+        return neighbors[offsets[i] + Objects.checkIndex(p, getDegree(i))];
+    }
+
+    /**
+     * Get the edge in the adjacency slot of the node.
+     *
+     * @param i the node index
+     * @param p the position of the neighbor among the neighbors of the node
+     * @return the edge
+     */
+    public E getEdge(int i, int p) {
+        return edges[offsets[i] + Objects.checkIndex(p, getDegree(i))];
+    }
+
+    /**
+     * Find the adjacency slot of the neighbor.
+     *
+     * @param i the node index
+     * @param j the neighbor index
+     * @return the slot, or {@code -1} if the nodes are not adjacent
+     */
+    public int slotOf(int i, int j) {
+        final int slot = Arrays.binarySearch(neighbors, offsets[i], offsets[i + 1], j);
+        return slot < 0 ? -1 : slot;
+    }
+
+    /**
+     * Get the neighborhood graph of the node, which is the subgraph induced by its neighbors
+     * excluding the node itself. This graph is an unmodifiable view over the index and the original graph.
+     *
+     * @param node the target node
+     * @return a neighborhood of {@code node}
+     * @throws IllegalArgumentException if the node is not in the graph
+     * @see Neighbors#graph(Graph, Object)
+     */
+    public EgoNetwork<V, E> egoNetwork(V node) {
+        return new EgoNetwork<>(this, indexOf(requireNonNull(node)));
+    }
+
+    /**
+     * Get the membership bitmap of the current thread. It must be cleared after use.
+     *
+     * @return the bitmap
+     */
+    long[] bitmap() {
+        return bitmaps.get();
+    }
+}
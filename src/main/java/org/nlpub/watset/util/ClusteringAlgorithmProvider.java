@@ -17,9 +17,6 @@
 
 package org.nlpub.watset.util;
 
-import org.apache.commons.math3.ml.clustering.KMeansPlusPlusClusterer;
-import org.apache.commons.math3.ml.clustering.MultiKMeansPlusPlusClusterer;
-import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.clustering.GirvanNewmanClustering;
@@ -32,6 +29,7 @@ import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.Objects.requireNonNullElse;
 
@@ -106,6 +104,7 @@ public class ClusteringAlgorithmProvider<V, E> implements ClusteringAlgorithmBui
     private final Map<String, String> params;
     private final NodeWeighting<V, E> weighting;
     private final JDKRandomGenerator random;
+    private final MarkovClusteringExternalBatch<V, E> batch;
 
     /**
      * Create an instance of this utility class.
@@ -119,6 +118,8 @@ public class ClusteringAlgorithmProvider<V, E> implements ClusteringAlgorithmBui
         this.params = requireNonNullElse(params, Collections.emptyMap());
         this.weighting = NodeWeightings.parse(params.get("mode"));
         this.random = requireNonNullElse(random, new JDKRandomGenerator());
+        this.batch = this.algorithm == ProvidingAlgorithm.MARKOV_CLUSTERING_EXTERNAL && this.params.containsKey("batch") ?
+                newBatch() : null;
     }
 
     @Override
@@ -140,10 +141,18 @@ public class ClusteringAlgorithmProvider<V, E> implements ClusteringAlgorithmBui
                 return new GirvanNewmanClustering<>(graph, kgn);
             case SPECTRAL:
                 final int kSpectral = Integer.parseInt(requireNonNull(params.get("k"), "k must be specified"));
-                final var clusterer = new KMeansPlusPlusClusterer<NodeEmbedding<V>>(kSpectral, -1, new EuclideanDistance(), random);
                 final int numTrials = params.containsKey("n") ? Integer.parseInt(params.get("n")) : 10;
-                final var metaClusterer = new MultiKMeansPlusPlusClusterer<>(clusterer, numTrials);
-                return SpectralClustering.<V, E>builder().setClusterer(metaClusterer).setK(kSpectral).apply(graph);
+                final int threads = params.containsKey("threads") ? Integer.parseInt(params.get("threads")) : 1;
+                final var metaClusterer = newKMeans(kSpectral, numTrials, threads);
+                final var spectral = SpectralClustering.<V, E>builder().setClusterer(metaClusterer).setK(kSpectral);
+
+                if (params.containsKey("eigensolver")) {
+                    spectral.setEigensolver(Matrices.Eigensolver.valueOf(params.get("eigensolver").toUpperCase(Locale.ROOT)));
+                }
+
+                if (params.containsKey("landmarks")) spectral.setLandmarks(Integer.parseInt(params.get("landmarks")));
+
+                return spectral.setRandom(random).apply(graph);
             case CHINESE_WHISPERS:
                 return ChineseWhispers.<V, E>builder().setWeighting(weighting).setRandom(random).apply(graph);
             case MARKOV_CLUSTERING:
@@ -154,11 +163,14 @@ public class ClusteringAlgorithmProvider<V, E> implements ClusteringAlgorithmBui
 
                 return mcl.apply(graph);
             case MARKOV_CLUSTERING_EXTERNAL:
+                if (nonNull(batch)) return batch.apply(graph);
+
                 final var mclOfficial = MarkovClusteringExternal.<V, E>builder().
                         setPath(Path.of(params.get("bin"))).
                         setThreads(Runtime.getRuntime().availableProcessors());
 
                 if (params.containsKey("r")) mclOfficial.setR(Double.parseDouble(params.get("r")));
+                if (params.containsKey("format")) mclOfficial.setFormat(parseFormat(params.get("format")));
 
                 return mclOfficial.apply(graph);
             case MAXMAX:
@@ -168,6 +180,105 @@ public class ClusteringAlgorithmProvider<V, E> implements ClusteringAlgorithmBui
         }
     }
 
+    @Override
+    public EdgelessClustering getEdgelessClustering() {
+        switch (algorithm) {
+            case EMPTY:
+                return EdgelessClustering.EMPTY;
+            case TOGETHER:
+                return EdgelessClustering.TOGETHER;
+            case SINGLETON:
+            case COMPONENTS:
+            case CHINESE_WHISPERS:
+            case MARKOV_CLUSTERING:
+            case MARKOV_CLUSTERING_EXTERNAL:
+                return EdgelessClustering.SINGLETONS;
+            default:
+                return EdgelessClustering.UNKNOWN;
+        }
+    }
+
+    /**
+     * Create the batching supplier of {@link MarkovClusteringExternal} shared by all the graphs.
+     *
+     * @return the batching supplier
+     */
+    private MarkovClusteringExternalBatch<V, E> newBatch() {
+        final double r = params.containsKey("r") ? Double.parseDouble(params.get("r")) : MarkovClusteringExternal.Builder.R;
+        final int size = Integer.parseInt(params.get("batch"));
+        final var format = params.containsKey("format") ? parseFormat(params.get("format")) : MarkovClusteringExternal.Format.ABC;
+        return new MarkovClusteringExternalBatch<>(Path.of(params.get("bin")), r, Runtime.getRuntime().availableProcessors(), size, format);
+    }
+
+    /**
+     * Create the multi-trial k-means clusterer of the node embeddings for Spectral Clustering.
+     * The {@code kmeans} parameter selects the {@code lloyd} (default), {@code hamerly}, or {@code minibatch}
+     * variant; the latter uses the {@code batch} and {@code iterations} parameters.
+     * The last two variants are initialized as specified by {@link #newKMeansInitializer()}, while the first one
+     * supports only the k-means++ initialization.
+     *
+     * @param k       the number of clusters
+     * @param trials  the number of trials
+     * @param threads the number of threads
+     * @return the clusterer
+     */
+    private ParallelMultiKMeansClusterer<NodeEmbedding<V>> newKMeans(int k, int trials, int threads) {
+        final var kmeans = params.getOrDefault("kmeans", "lloyd").toLowerCase(Locale.ROOT);
+        final var initializer = newKMeansInitializer();
+
+        switch (kmeans) {
+            case "lloyd":
+                // The clusterer of Commons Math always uses k-means++
+                if (!(initializer instanceof KMeansPlusPlusInitializer)) {
+                    throw new IllegalArgumentException("k-means initialization " + params.get("init") +
+                            " is supported only by the hamerly and minibatch variants");
+                }
+
+                return new ParallelMultiKMeansClusterer<>(k, -1, trials, threads, random);
+            case "hamerly":
+                return new ParallelMultiKMeansClusterer<>(r -> new HamerlyKMeansClusterer<>(k, -1, initializer, r), trials, threads, random);
+            case "minibatch":
+                final int batchSize = params.containsKey("batch") ?
+                        Integer.parseInt(params.get("batch")) : MiniBatchKMeansClusterer.BATCH_SIZE;
+                final int iterations = params.containsKey("iterations") ?
+                        Integer.parseInt(params.get("iterations")) : MiniBatchKMeansClusterer.ITERATIONS;
+                return new ParallelMultiKMeansClusterer<>(r -> new MiniBatchKMeansClusterer<>(k, batchSize, iterations, initializer, r), trials, threads, random);
+            default:
+                throw new IllegalArgumentException("Unknown k-means variant: " + kmeans);
+        }
+    }
+
+    /**
+     * Create the initializer of k-means selected by the {@code init} parameter: either {@code plusplus}
+     * (default) for k-means++ or {@code parallel} for k-means|| configured by the {@code rounds} parameter.
+     *
+     * @return the initializer
+     */
+    private KMeansInitializer newKMeansInitializer() {
+        final var init = params.getOrDefault("init", "plusplus").toLowerCase(Locale.ROOT);
+
+        switch (init) {
+            case "plusplus":
+                return new KMeansPlusPlusInitializer();
+            case "parallel":
+                final int rounds = params.containsKey("rounds") ?
+                        Integer.parseInt(params.get("rounds")) : KMeansParallelInitializer.ROUNDS;
+                return new KMeansParallelInitializer(rounds, KMeansParallelInitializer.OVERSAMPLING);
+            default:
+                throw new IllegalArgumentException("Unknown k-means initialization: " + init);
+        }
+    }
+
+    /**
+     * Parse the format of the matrices exchanged with the MCL binary.
+     *
+     * @param format the format name
+     * @return the format
+     */
+    private static MarkovClusteringExternal.Format parseFormat(String format) {
+        return MarkovClusteringExternal.Format.valueOf(format.toUpperCase(Locale.ROOT));
+    }
+
     /**
      * Normalize the name of the requested algorithm.
      *
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A buffered writer of the ABC {@code (source, target, weight)} edge lists that encodes
+ * numbers directly into bytes, avoiding {@link java.util.Formatter} and boxing.
+ * <p>
+ * Integers are written digit by digit. Doubles are written in the shortest fixed-point
+ * notation that is parsed back to the same value; the values that have no such short
+ * representation fall back to {@link Double#toString(double)}, which also round-trips.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see ABCFormat
+ */
+public class EdgeListWriter implements Closeable, Flushable {
+    /**
+     * The default buffer size.
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximal number of bytes written by {@link #formatInt(byte[], int, int)}.
+     */
+    public static final int INT_LENGTH = 11;
+
+    /**
+     * The maximal number of bytes written by {@link #formatDouble(byte[], int, double)}.
+     */
+    public static final int DOUBLE_LENGTH = 32;
+
+    /**
+     * The maximal number of fraction digits tried in the fixed-point notation.
+     */
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    /**
+     * The largest integer such that all the smaller integers are exactly representable as doubles.
+     */
+    private static final double MAX_EXACT = 0x1p53;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9
+    };
+
+    private static final byte[] DIGITS = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream stream;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Create an instance of the edge list writer.
+     *
+     * @param stream the output stream
+     */
+    public EdgeListWriter(OutputStream stream) {
+        this(stream, BUFFER_SIZE);
+    }
+
+    /**
+     * Create an instance of the edge list writer.
+     *
+     * @param stream the output stream
+     * @param size   the buffer size
+     */
+    public EdgeListWriter(OutputStream stream, int size) {
+        if (size < DOUBLE_LENGTH) {
+            throw new IllegalArgumentException("size should be at least " + DOUBLE_LENGTH);
+        }
+
+        this.stream = requireNonNull(stream);
+        this.buffer = new byte[size];
+    }
+
+    /**
+     * Write an edge identified by the integer indices of its nodes.
+     *
+     * @param source the source node index
+     * @param target the target node index
+     * @param weight the edge weight
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter writeEdge(int source, int target, double weight) throws IOException {
+        writeInt(source);
+        writeByte('\t');
+        writeInt(target);
+        writeByte('\t');
+        writeDouble(weight);
+        return newLine();
+    }
+
+    /**
+     * Write an edge identified by the labels of its nodes.
+     *
+     * @param source the source node label
+     * @param target the target node label
+     * @param weight the edge weight
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter writeEdge(CharSequence source, CharSequence target, double weight) throws IOException {
+        write(source);
+        writeByte('\t');
+        write(target);
+        writeByte('\t');
+        writeDouble(weight);
+        return newLine();
+    }
+
+    /**
+     * Write the character sequence encoded in UTF-8.
+     *
+     * @param text the character sequence
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter write(CharSequence text) throws IOException {
+        final int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+
+            if (c >= 0x80) {
+                // Non-ASCII input is rare here, so we let the encoder handle the rest of it
+                return write(text.subSequence(i, length).toString().getBytes(StandardCharsets.UTF_8));
+            }
+
+            writeByte(c);
+        }
+
+        return this;
+    }
+
+    /**
+     * Write the bytes as is.
+     *
+     * @param bytes the bytes
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter write(byte[] bytes) throws IOException {
+        return write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Write the bytes as is.
+     *
+     * @param bytes  the bytes
+     * @param offset the start offset in {@code bytes}
+     * @param length the number of bytes to write
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter write(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length - position) {
+            flushBuffer();
+
+            if (length > buffer.length) {
+                stream.write(bytes, offset, length);
+                return this;
+            }
+        }
+
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+        return this;
+    }
+
+    /**
+     * Write the integer in the decimal notation.
+     *
+     * @param value the integer
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter writeInt(int value) throws IOException {
+        ensure(INT_LENGTH);
+        position = formatInt(buffer, position, value);
+        return this;
+    }
+
+    /**
+     * Write the double in the shortest round-trip notation.
+     *
+     * @param value the double
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     * @see #formatDouble(byte[], int, double)
+     */
+    public EdgeListWriter writeDouble(double value) throws IOException {
+        ensure(DOUBLE_LENGTH);
+        position = formatDouble(buffer, position, value);
+        return this;
+    }
+
+    /**
+     * Write the line feed character.
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public EdgeListWriter newLine() throws IOException {
+        writeByte('\n');
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (stream) {
+            flushBuffer();
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) flushBuffer();
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.length - position < length) flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            stream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Write the integer in the decimal notation into the byte array.
+     * <p>
+     * The array must have at least {@link #INT_LENGTH} bytes available after {@code offset}.
+     *
+     * @param bytes  the byte array
+     * @param offset the offset to write at
+     * @param value  the integer
+     * @return the offset after the last written byte
+     */
+    public static int formatInt(byte[] bytes, int offset, int value) {
+        return formatLong(bytes, offset, value);
+    }
+
+    /**
+     * Write the double in the shortest round-trip notation into the byte array.
+     * <p>
+     * The array must have at least {@link #DOUBLE_LENGTH} bytes available after {@code offset}.
+     * Integral values are written without the fraction part, e.g., {@code 1.0} is written as {@code 1}.
+     *
+     * @param bytes  the byte array
+     * @param offset the offset to write at
+     * @param value  the double
+     * @return the offset after the last written byte
+     */
+    public static int formatDouble(byte[] bytes, int offset, double value) {
+        final double abs = Math.abs(value);
+
+        if (abs < MAX_EXACT) {
+            for (int digits = 0; digits <= MAX_FRACTION_DIGITS; digits++) {
+                final double scaled = abs * POWERS_OF_TEN[digits];
+
+                if (scaled >= MAX_EXACT) break;
+
+                final long mantissa = Math.round(scaled);
+
+                // Both operands are exact, so the division is correctly rounded like the parser does
+                if (mantissa / POWERS_OF_TEN[digits] == abs) {
+                    if (value < 0 && mantissa != 0) bytes[offset++] = '-';
+                    return formatFixed(bytes, offset, mantissa, digits);
+                }
+            }
+        }
+
+        final var string = Double.toString(value);
+
+        for (int i = 0; i < string.length(); i++) {
+            bytes[offset++] = (byte) string.charAt(i);
+        }
+
+        return offset;
+    }
+
+    private static int formatFixed(byte[] bytes, int offset, long mantissa, int digits) {
+        if (digits == 0) return formatLong(bytes, offset, mantissa);
+
+        final long divisor = (long) POWERS_OF_TEN[digits];
+
+        offset = formatLong(bytes, offset, mantissa / divisor);
+        bytes[offset++] = '.';
+
+        final int end = offset + digits;
+        long fraction = mantissa % divisor;
+
+        for (int i = end - 1; i >= offset; i--) {
+            bytes[i] = DIGITS[(int) (fraction % 10)];
+            fraction /= 10;
+        }
+
+        return end;
+    }
+
+    private static int formatLong(byte[] bytes, int offset, long value) {
+        if (value == 0) {
+            bytes[offset] = '0';
+            return offset + 1;
+        }
+
+        if (value < 0) {
+            bytes[offset++] = '-';
+        }
+
+        int length = 0;
+
+        for (long rest = value; rest != 0; rest /= 10) length++;
+
+        final int end = offset + length;
+
+        for (int i = end - 1; value != 0; i--) {
+            bytes[i] = DIGITS[(int) Math.abs(value % 10)];
+            value /= 10;
+        }
+
+        return end;
+    }
+}
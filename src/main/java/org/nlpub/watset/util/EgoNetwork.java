@@ -0,0 +1,497 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultGraphType;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * An unmodifiable neighborhood graph of the node, which is the subgraph induced by its neighbors
+ * excluding the node itself, backed by the {@link AdjacencyIndex} of the original graph.
+ * <p>
+ * The nodes and edges of this graph are the ones of the original graph, and the edge weights are
+ * read from it. The only data of the view is the induced adjacency of the neighbors in local
+ * integer indices. It is either computed once on creation using the membership bitmap of the current thread,
+ * or it is a part of the adjacency of all the neighborhoods computed at once by {@link EgoNetworks}.
+ *
+ * @param <V> the type of nodes in the graph
+ * @param <E> the type of edges in the graph
+ */
+public class EgoNetwork<V, E> extends AbstractGraph<V, E> {
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    /**
+     * The adjacency index.
+     */
+    private final AdjacencyIndex<V, E> index;
+
+    /**
+     * The target node index.
+     */
+    private final int target;
+
+    /**
+     * The offsets of the induced adjacency rows starting at {@code base}; there is one more offset than there are neighbors.
+     */
+    private final int[] offsets;
+
+    /**
+     * The position of the offset of the first induced adjacency row in {@code offsets}.
+     */
+    private final int base;
+
+    /**
+     * The local indices of the neighbors, which are their positions among the neighbors of the target node.
+     */
+    private final int[] neighbors;
+
+    /**
+     * The adjacency slots of the index that contain the edges.
+     */
+    private final int[] slots;
+
+    /**
+     * Create the neighborhood graph of the node over the induced adjacency computed elsewhere.
+     *
+     * @param index     the adjacency index
+     * @param target    the target node index
+     * @param offsets   the offsets of the induced adjacency rows
+     * @param base      the position of the offset of the first induced adjacency row
+     * @param neighbors the local indices of the neighbors
+     * @param slots     the adjacency slots of the index that contain the edges
+     */
+    EgoNetwork(AdjacencyIndex<V, E> index, int target, int[] offsets, int base, int[] neighbors, int[] slots) {
+        this.index = index;
+        this.target = target;
+        this.offsets = offsets;
+        this.base = base;
+        this.neighbors = neighbors;
+        this.slots = slots;
+    }
+
+    /**
+     * Create the neighborhood graph of the node.
+     *
+     * @param index  the adjacency index
+     * @param target the target node index
+     */
+    EgoNetwork(AdjacencyIndex<V, E> index, int target) {
+        this.index = index;
+        this.target = target;
+        this.base = 0;
+
+        final int from = index.offsets[target], degree = index.getDegree(target);
+        final var bitmap = index.bitmap();
+
+        this.offsets = new int[degree + 1];
+
+        var neighbors = new int[Math.max(16, degree)];
+        var slots = new int[neighbors.length];
+        int size = 0;
+
+        for (int p = 0; p < degree; p++) mark(bitmap, index.neighbors[from + p]);
+
+        try {
+            for (int p = 0; p < degree; p++) {
+                final int u = index.neighbors[from + p];
+
+                if (index.getDegree(u) <= degree) {
+                    // The short rows are intersected with the neighborhood through the bitmap
+                    for (int slot = index.offsets[u]; slot < index.offsets[u + 1]; slot++) {
+                        final int w = index.neighbors[slot];
+
+                        if (!isMarked(bitmap, w)) continue;
+
+                        if (size == neighbors.length) {
+                            neighbors = Arrays.copyOf(neighbors, size * 2);
+                            slots = Arrays.copyOf(slots, size * 2);
+                        }
+
+                        neighbors[size] = Arrays.binarySearch(index.neighbors, from, from + degree, w) - from;
+                        slots[size++] = slot;
+                    }
+                } else {
+                    // The long rows of hubs are searched for every neighbor instead of being scanned
+                    for (int q = 0; q < degree; q++) {
+                        final int slot = q == p ? -1 : index.slotOf(u, index.neighbors[from + q]);
+
+                        if (slot < 0) continue;
+
+                        if (size == neighbors.length) {
+                            neighbors = Arrays.copyOf(neighbors, size * 2);
+                            slots = Arrays.copyOf(slots, size * 2);
+                        }
+
+                        neighbors[size] = q;
+                        slots[size++] = slot;
+                    }
+                }
+
+                offsets[p + 1] = size;
+            }
+        } finally {
+            for (int p = 0; p < degree; p++) unmark(bitmap, index.neighbors[from + p]);
+        }
+
+        this.neighbors = Arrays.copyOf(neighbors, size);
+        this.slots = Arrays.copyOf(slots, size);
+    }
+
+    private static void mark(long[] bitmap, int i) {
+        bitmap[i >>> 6] |= 1L << i;
+    }
+
+    private static void unmark(long[] bitmap, int i) {
+        bitmap[i >>> 6] &= ~(1L << i);
+    }
+
+    private static boolean isMarked(long[] bitmap, int i) {
+        return (bitmap[i >>> 6] & 1L << i) != 0;
+    }
+
+    /**
+     * Get the target node, which is not included in this graph.
+     *
+     * @return the target node
+     */
+    public V getTarget() {
+        return index.getNode(target);
+    }
+
+    /**
+     * Get the number of neighbors of the target node, which is the number of nodes in this graph.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return index.getDegree(target);
+    }
+
+    /**
+     * Get the first position of the induced adjacency row in {@code neighbors} and {@code slots}.
+     *
+     * @param p the local index
+     * @return the first position of the row
+     */
+    private int start(int p) {
+        return offsets[base + p];
+    }
+
+    /**
+     * Get the position after the induced adjacency row in {@code neighbors} and {@code slots}.
+     *
+     * @param p the local index
+     * @return the position after the row
+     */
+    private int end(int p) {
+        return offsets[base + p + 1];
+    }
+
+    /**
+     * Find the local index of the node.
+     *
+     * @param node the node
+     * @return the local index, or {@code -1} if the node is not in this graph
+     */
+    private int localIndexOf(Object node) {
+        final var i = index.mapping.getVertexMap().get(node);
+
+        if (isNull(i)) return -1;
+
+        final int from = index.offsets[target];
+        final int p = Arrays.binarySearch(index.neighbors, from, index.offsets[target + 1], i);
+
+        return p < 0 ? -1 : p - from;
+    }
+
+    /**
+     * Find the local index of the node or fail.
+     *
+     * @param node the node
+     * @return the local index
+     * @throws IllegalArgumentException if the node is not in this graph
+     */
+    private int requireLocalIndex(Object node) {
+        final int p = localIndexOf(node);
+
+        if (p < 0) throw new IllegalArgumentException("no such vertex in graph: " + node);
+
+        return p;
+    }
+
+    /**
+     * Get the node by its local index.
+     *
+     * @param p the local index
+     * @return the node
+     */
+    private V getLocalNode(int p) {
+        return index.getNode(index.neighbors[index.offsets[target] + p]);
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+        if (localIndexOf(sourceVertex) < 0 || localIndexOf(targetVertex) < 0) return null;
+
+        final var edge = getEdge(sourceVertex, targetVertex);
+
+        return isNull(edge) ? Collections.emptySet() : Collections.singleton(edge);
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex) {
+        final int p = localIndexOf(sourceVertex), q = localIndexOf(targetVertex);
+
+        if (p < 0 || q < 0) return null;
+
+        final int k = Arrays.binarySearch(neighbors, start(p), end(p), q);
+
+        return k < 0 ? null : index.edges[slots[k]];
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier() {
+        return index.graph.getVertexSupplier();
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier() {
+        return index.graph.getEdgeSupplier();
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public V addVertex() {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(V v) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(E e) {
+        if (!index.graph.containsEdge(e)) return false;
+
+        return getEdge(index.graph.getEdgeSource(e), index.graph.getEdgeTarget(e)) == e;
+    }
+
+    @Override
+    public boolean containsVertex(V v) {
+        return localIndexOf(v) >= 0;
+    }
+
+    @Override
+    public Set<E> edgeSet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<E> iterator() {
+                return new Iterator<>() {
+                    private final int last = end(EgoNetwork.this.size() - 1);
+                    private int p, k = advance(0, start(0));
+
+                    /**
+                     * Find the next edge that is seen from its endpoint with the smaller local index.
+                     */
+                    private int advance(int p, int k) {
+                        for (; k < last; k++) {
+                            while (k >= end(p)) p++;
+
+                            if (neighbors[k] > p) {
+                                this.p = p;
+                                return k;
+                            }
+                        }
+
+                        return k;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return k < last;
+                    }
+
+                    @Override
+                    public E next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        final var edge = index.edges[slots[k]];
+                        k = advance(p, k + 1);
+                        return edge;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return (end(EgoNetwork.this.size() - 1) - start(0)) / 2;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                return containsEdge((E) o);
+            }
+        };
+    }
+
+    @Override
+    public int degreeOf(V vertex) {
+        final int p = requireLocalIndex(vertex);
+        return end(p) - start(p);
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex) {
+        final int p = requireLocalIndex(vertex);
+
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<E> iterator() {
+                return new Iterator<>() {
+                    private int k = start(p);
+
+                    @Override
+                    public boolean hasNext() {
+                        return k < end(p);
+                    }
+
+                    @Override
+                    public E next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return index.edges[slots[k++]];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return end(p) - start(p);
+            }
+        };
+    }
+
+    @Override
+    public int inDegreeOf(V vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(V vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(E e) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(V v) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<V> vertexSet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<>() {
+                    private int p;
+
+                    @Override
+                    public boolean hasNext() {
+                        return p < EgoNetwork.this.size();
+                    }
+
+                    @Override
+                    public V next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return getLocalNode(p++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return EgoNetwork.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return localIndexOf(o) >= 0;
+            }
+        };
+    }
+
+    @Override
+    public V getEdgeSource(E e) {
+        return index.graph.getEdgeSource(e);
+    }
+
+    @Override
+    public V getEdgeTarget(E e) {
+        return index.graph.getEdgeTarget(e);
+    }
+
+    @Override
+    public GraphType getType() {
+        return DefaultGraphType.simple().asWeighted().asUnmodifiable();
+    }
+
+    @Override
+    public double getEdgeWeight(E e) {
+        return index.graph.getEdgeWeight(e);
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight) {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+}
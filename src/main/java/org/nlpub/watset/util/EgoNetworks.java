@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The neighborhood graphs of all the nodes built at once by listing the triangles of the graph.
+ * <p>
+ * The edges of the neighborhood graph of a node are exactly the triangles through this node. The nodes
+ * are ordered by their degrees, and every edge is oriented from the lower node to the higher one, so every node
+ * has at most O(&radic;m) outgoing edges. Every triangle is then found once by intersecting the sorted outgoing
+ * adjacencies of its two lower nodes, and its edges are distributed to the neighborhoods of its three nodes.
+ * This takes O(m<sup>1.5</sup>) time in total instead of intersecting the neighborhood of every node separately.
+ * <p>
+ * The induced adjacency of all the neighborhoods is stored in two passes: the triangles through every edge are
+ * counted first, and then they are written to the arrays of the exact size. This takes four integers
+ * per triangle for each of its three nodes. The returned {@link EgoNetwork} instances are the views over these arrays.
+ * <p>
+ * If the arrays would exceed the given capacity, only the numbers of edges are kept, and the neighborhood graphs
+ * are built one by one on request by {@link AdjacencyIndex#egoNetwork(Object)} instead.
+ *
+ * @param <V> the type of nodes in the graph
+ * @param <E> the type of edges in the graph
+ * @see <a href="https://doi.org/10.1007/11427186_54">Schank &amp; Wagner (WEA 2005)</a>
+ */
+public class EgoNetworks<V, E> {
+    /**
+     * The maximal number of entries of the induced adjacency that can be stored in an array.
+     */
+    public static final int CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The adjacency index.
+     */
+    private final AdjacencyIndex<V, E> index;
+
+    /**
+     * The offsets of the induced adjacency rows of every adjacency slot of the index. The row of
+     * the slot of the node {@code i} for its neighbor {@code j} is the adjacency of {@code j}
+     * in the neighborhood graph of {@code i}. This array has one more element than there are slots.
+     * It is {@code null} if the neighborhood graphs are not stored.
+     */
+    private final int[] offsets;
+
+    /**
+     * The local indices of the neighbors in the induced adjacency rows, or {@code null} if they are not stored.
+     */
+    private final int[] neighbors;
+
+    /**
+     * The adjacency slots of the index that contain the edges of the induced adjacency rows,
+     * or {@code null} if they are not stored.
+     */
+    private final int[] slots;
+
+    /**
+     * The numbers of edges in the neighborhood graphs that are not stored, or {@code null} if they are stored.
+     */
+    private final int[] counts;
+
+    /**
+     * The outgoing adjacency of the oriented graph: the offsets of the rows.
+     */
+    private final int[] outOffsets;
+
+    /**
+     * The outgoing adjacency of the oriented graph: the neighbor indices sorted in the ascending order.
+     */
+    private final int[] outNeighbors;
+
+    /**
+     * The outgoing adjacency of the oriented graph: the adjacency slots of the index.
+     */
+    private final int[] outSlots;
+
+    /**
+     * The adjacency slot of the opposite direction for every adjacency slot of the index.
+     */
+    private final int[] reverse;
+
+    /**
+     * Build the neighborhood graphs of all the nodes. If the graph has too many triangles to store
+     * their neighborhood graphs in arrays, the neighborhood graphs are built one by one on request.
+     *
+     * @param index the adjacency index
+     */
+    public EgoNetworks(AdjacencyIndex<V, E> index) {
+        this(index, CAPACITY);
+    }
+
+    /**
+     * Build the neighborhood graphs of all the nodes if they take at most {@code capacity} entries of
+     * the induced adjacency, which is six entries per triangle. Otherwise, the neighborhood graphs are
+     * built one by one on request.
+     *
+     * @param index    the adjacency index
+     * @param capacity the maximal number of stored entries
+     */
+    public EgoNetworks(AdjacencyIndex<V, E> index, int capacity) {
+        if (capacity < 0 || capacity > CAPACITY) throw new IllegalArgumentException("capacity is out of range");
+
+        this.index = requireNonNull(index);
+
+        final int n = index.size();
+
+        this.reverse = new int[index.getSlots()];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            for (int s = index.offsets[i]; s < index.offsets[i + 1]; s++) reverse[s] = index.slotOf(index.neighbors[s], i);
+        });
+
+        // The edges are oriented from the nodes of lower degree, and the ties are resolved by the node indices
+        this.outOffsets = new int[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            int out = 0;
+
+            for (int s = index.offsets[i]; s < index.offsets[i + 1]; s++) if (isLower(i, index.neighbors[s])) out++;
+
+            outOffsets[i + 1] = outOffsets[i] + out;
+        }
+
+        this.outNeighbors = new int[outOffsets[n]];
+        this.outSlots = new int[outOffsets[n]];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int k = outOffsets[i];
+
+            for (int s = index.offsets[i]; s < index.offsets[i + 1]; s++) {
+                if (isLower(i, index.neighbors[s])) {
+                    outNeighbors[k] = index.neighbors[s];
+                    outSlots[k++] = s;
+                }
+            }
+        });
+
+        // The first pass counts the triangles through every edge in the slot of its lower node
+        final var support = new AtomicIntegerArray(index.getSlots());
+
+        forEachTriangle((u, v, w, uv, uw, vw) -> {
+            support.incrementAndGet(uv);
+            support.incrementAndGet(uw);
+            support.incrementAndGet(vw);
+        });
+
+        long total = 0;
+
+        for (int s = 0; s < index.getSlots(); s++) total += support.get(s) + support.get(reverse[s]);
+
+        if (total > capacity) {
+            // Every triangle through the node is counted in the slots of both its edges incident to the node
+            this.counts = IntStream.range(0, n).parallel().map(i -> {
+                long entries = 0;
+
+                for (int s = index.offsets[i]; s < index.offsets[i + 1]; s++) entries += support.get(s) + support.get(reverse[s]);
+
+                return (int) Math.min(entries / 2, Integer.MAX_VALUE);
+            }).toArray();
+
+            this.offsets = null;
+            this.neighbors = null;
+            this.slots = null;
+            return;
+        }
+
+        this.counts = null;
+        this.offsets = new int[index.getSlots() + 1];
+
+        for (int s = 0; s < index.getSlots(); s++) {
+            offsets[s + 1] = offsets[s] + support.get(s) + support.get(reverse[s]);
+        }
+
+        this.neighbors = new int[offsets[index.getSlots()]];
+        this.slots = new int[neighbors.length];
+
+        // The second pass writes every triangle to the rows of its six directed edges
+        final var cursors = new AtomicIntegerArray(Arrays.copyOf(offsets, index.getSlots()));
+
+        forEachTriangle((u, v, w, uv, uw, vw) -> {
+            final int vu = reverse[uv], wu = reverse[uw], wv = reverse[vw];
+            final int ou = index.offsets[u], ov = index.offsets[v], ow = index.offsets[w];
+
+            put(cursors, uv, uw - ou, vw);
+            put(cursors, uw, uv - ou, wv);
+            put(cursors, vu, vw - ov, uw);
+            put(cursors, vw, vu - ov, wu);
+            put(cursors, wu, wv - ow, uv);
+            put(cursors, wv, wu - ow, vu);
+        });
+
+        IntStream.range(0, n).parallel().forEach(this::sortRows);
+    }
+
+    /**
+     * Get the number of edges in the neighborhood graph of the node, which is the number of triangles through it.
+     *
+     * @param i the node index
+     * @return the number of edges
+     */
+    public int getEdgeCount(int i) {
+        if (!isStored()) return counts[Objects.checkIndex(i, index.size())];
+
+        return (offsets[index.offsets[i + 1]] - offsets[index.offsets[i]]) / 2;
+    }
+
+    /**
+     * Get the neighborhood graph of the node. If the neighborhood graphs are not {@link #isStored() stored},
+     * it is built by {@link AdjacencyIndex#egoNetwork(Object)}.
+     *
+     * @param i the node index
+     * @return a neighborhood of the node
+     */
+    public EgoNetwork<V, E> get(int i) {
+        if (!isStored()) return new EgoNetwork<>(index, Objects.checkIndex(i, index.size()));
+
+        return new EgoNetwork<>(index, i, offsets, index.offsets[i], neighbors, slots);
+    }
+
+    /**
+     * Check whether the neighborhood graphs of all the nodes are stored at once.
+     *
+     * @return {@code true} if the neighborhood graphs are stored, or {@code false} if they are built on request
+     */
+    public boolean isStored() {
+        return nonNull(offsets);
+    }
+
+    /**
+     * Get the neighborhood graph of the node.
+     *
+     * @param node the node
+     * @return a neighborhood of {@code node}
+     * @throws IllegalArgumentException if the node is not in the graph
+     */
+    public EgoNetwork<V, E> get(V node) {
+        return get(index.indexOf(requireNonNull(node)));
+    }
+
+    /**
+     * Get the adjacency index.
+     *
+     * @return the adjacency index
+     */
+    public AdjacencyIndex<V, E> getIndex() {
+        return index;
+    }
+
+    /**
+     * Check whether the first node precedes the second one in the degree order.
+     *
+     * @param i the first node index
+     * @param j the second node index
+     * @return {@code true} if {@code i} is lower than {@code j}
+     */
+    private boolean isLower(int i, int j) {
+        final int di = index.getDegree(i), dj = index.getDegree(j);
+        return di < dj || (di == dj && i < j);
+    }
+
+    /**
+     * Enumerate every triangle once in parallel. The nodes of the triangle are passed
+     * in the degree order together with the slots of its edges in the rows of their lower nodes.
+     *
+     * @param consumer the triangle consumer
+     */
+    private void forEachTriangle(TriangleConsumer consumer) {
+        IntStream.range(0, index.size()).parallel().forEach(u -> {
+            for (int p = outOffsets[u]; p < outOffsets[u + 1]; p++) {
+                final int v = outNeighbors[p];
+
+                // Both rows are sorted by the node indices, so their intersection is merged in linear time
+                int a = outOffsets[u], b = outOffsets[v];
+
+                while (a < outOffsets[u + 1] && b < outOffsets[v + 1]) {
+                    if (outNeighbors[a] < outNeighbors[b]) {
+                        a++;
+                    } else if (outNeighbors[a] > outNeighbors[b]) {
+                        b++;
+                    } else {
+                        consumer.accept(u, v, outNeighbors[a], outSlots[p], outSlots[a], outSlots[b]);
+                        a++;
+                        b++;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Append the entry to the induced adjacency row.
+     *
+     * @param cursors  the next free positions of the rows
+     * @param row      the row
+     * @param neighbor the local index of the neighbor
+     * @param slot     the adjacency slot of the edge
+     */
+    private void put(AtomicIntegerArray cursors, int row, int neighbor, int slot) {
+        final int k = cursors.getAndIncrement(row);
+        neighbors[k] = neighbor;
+        slots[k] = slot;
+    }
+
+    /**
+     * Sort the induced adjacency rows of the neighborhood graph of the node by the local indices of the neighbors.
+     *
+     * @param i the node index
+     */
+    private void sortRows(int i) {
+        long[] keys = null;
+
+        for (int s = index.offsets[i]; s < index.offsets[i + 1]; s++) {
+            final int from = offsets[s], length = offsets[s + 1] - from;
+
+            if (length < 2) continue;
+
+            if (isNull(keys) || keys.length < length) keys = new long[length];
+
+            for (int k = 0; k < length; k++) keys[k] = (long) neighbors[from + k] << 32 | slots[from + k];
+
+            Arrays.sort(keys, 0, length);
+
+            for (int k = 0; k < length; k++) {
+                neighbors[from + k] = (int) (keys[k] >>> 32);
+                slots[from + k] = (int) keys[k];
+            }
+        }
+    }
+
+    /**
+     * A consumer of the triangles.
+     */
+    @FunctionalInterface
+    private interface TriangleConsumer {
+        /**
+         * Accept the triangle.
+         *
+         * @param u  the lowest node
+         * @param v  the middle node
+         * @param w  the highest node
+         * @param uv the slot of the edge between {@code u} and {@code v} in the row of {@code u}
+         * @param uw the slot of the edge between {@code u} and {@code w} in the row of {@code u}
+         * @param vw the slot of the edge between {@code v} and {@code w} in the row of {@code v}
+         */
+        void accept(int u, int v, int w, int uv, int uw, int vw);
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.Graph;
+import org.jgrapht.util.VertexToIntegerMapping;
+import org.nlpub.watset.graph.EmbeddingMatrix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A persistent cache of node embeddings in a directory.
+ * <p>
+ * The embeddings are addressed by the SHA-256 hash of the node labels in the order of their indices,
+ * the edges with their weights, and the description of the embedding parameters. Each entry is
+ * a binary file that has a 16-byte little-endian header (the {@code WEMB} magic, the format version,
+ * the number of rows and the number of columns) followed by the row-major matrix of little-endian
+ * float64 values, which is memory-mapped on reading. The randomized embeddings should include
+ * their seeds in the parameters, since otherwise they cannot be reused.
+ */
+public class EmbeddingCache {
+    /**
+     * The file magic.
+     */
+    private static final int MAGIC = 0x424d4557;
+
+    /**
+     * The file format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The header size in bytes.
+     */
+    private static final int HEADER = 16;
+
+    /**
+     * The maximal size of a mapped region or a write buffer in bytes.
+     */
+    private static final int CHUNK = 1 << 26;
+
+    /**
+     * The file name extension.
+     */
+    private static final String EXTENSION = ".emb";
+
+    private static final System.Logger logger = System.getLogger(EmbeddingCache.class.getSimpleName());
+
+    /**
+     * The cache directory.
+     */
+    private final Path directory;
+
+    /**
+     * Create an instance of the cache.
+     *
+     * @param directory the cache directory, which is created if needed
+     */
+    public EmbeddingCache(Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    /**
+     * Compute the cache key of the embedding.
+     *
+     * @param graph      the graph
+     * @param mapping    the mapping
+     * @param parameters the description of the embedding parameters
+     * @param <V>        the type of nodes in the graph
+     * @param <E>        the type of edges in the graph
+     * @return the hexadecimal key
+     */
+    public static <V, E> String key(Graph<V, E> graph, VertexToIntegerMapping<V> mapping, String parameters) {
+        final MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        digest.update(parameters.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+
+        for (final var node : mapping.getIndexList()) {
+            digest.update(node.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        final var vertexMap = mapping.getVertexMap();
+        final var buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (final var edge : graph.edgeSet()) {
+            if (buffer.remaining() < 16) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+
+            buffer.putInt(vertexMap.get(graph.getEdgeSource(edge)));
+            buffer.putInt(vertexMap.get(graph.getEdgeTarget(edge)));
+            buffer.putDouble(graph.getEdgeWeight(edge));
+        }
+
+        digest.update(buffer.flip());
+
+        final var hex = new StringBuilder();
+
+        for (final byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return hex.toString();
+    }
+
+    /**
+     * Get the cached embedding of the graph or compute and store it.
+     *
+     * @param graph      the graph
+     * @param mapping    the mapping
+     * @param parameters the description of the embedding parameters
+     * @param supplier   the embedding computation
+     * @param <V>        the type of nodes in the graph
+     * @return the node embeddings
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    public <V> EmbeddingMatrix<V> computeIfAbsent(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, String parameters, Supplier<EmbeddingMatrix<V>> supplier) {
+        final var key = key(graph, mapping, parameters);
+
+        try {
+            var embeddings = get(key, mapping.getIndexList());
+
+            if (isNull(embeddings)) {
+                embeddings = supplier.get();
+                put(key, embeddings);
+                logger.log(Level.INFO, "Stored the embedding {0} in the cache.", key);
+            } else {
+                logger.log(Level.INFO, "Loaded the embedding {0} from the cache.", key);
+            }
+
+            return embeddings;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Load the embedding from the cache.
+     *
+     * @param key   the cache key
+     * @param nodes the nodes addressed by their indices
+     * @param <V>   the type of nodes in the graph
+     * @return the node embeddings, or {@code null} if the entry is absent or malformed
+     * @throws IOException if an I/O error occurs
+     */
+    public <V> EmbeddingMatrix<V> get(String key, List<V> nodes) throws IOException {
+        final var path = directory.resolve(key + EXTENSION);
+
+        if (!Files.isRegularFile(path)) return null;
+
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) return malformed(path);
+
+            final var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) return malformed(path);
+
+            final int n = header.getInt(), k = header.getInt();
+
+            if (n != nodes.size() || k < 1 || channel.size() != HEADER + (long) n * k * Double.BYTES) {
+                return malformed(path);
+            }
+
+            final var data = new double[n * k];
+
+            for (long position = HEADER, offset = 0; offset < data.length; ) {
+                final long size = Math.min(CHUNK, (data.length - offset) * Double.BYTES);
+                final var region = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+                final int length = (int) (size / Double.BYTES);
+
+                region.asDoubleBuffer().get(data, (int) offset, length);
+
+                position += size;
+                offset += length;
+            }
+
+            return new EmbeddingMatrix<>(nodes, data, k);
+        }
+    }
+
+    /**
+     * Store the embedding in the cache. The file is written under a temporary name and then
+     * renamed, so the concurrent readers never observe a partial entry.
+     *
+     * @param key        the cache key
+     * @param embeddings the node embeddings
+     * @throws IOException if an I/O error occurs
+     */
+    public void put(String key, EmbeddingMatrix<?> embeddings) throws IOException {
+        Files.createDirectories(directory);
+
+        final var path = directory.resolve(key + EXTENSION);
+        final var temporary = Files.createTempFile(directory, key, EXTENSION + ".tmp");
+
+        try {
+            try (final var channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final long bytes = HEADER + (long) embeddings.getData().length * Double.BYTES;
+                final var buffer = ByteBuffer.allocate((int) Math.min(CHUNK, bytes)).order(ByteOrder.LITTLE_ENDIAN);
+
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(embeddings.size()).putInt(embeddings.getDimensions());
+
+                for (final double value : embeddings.getData()) {
+                    if (!buffer.hasRemaining()) write(channel, buffer);
+                    buffer.putDouble(value);
+                }
+
+                write(channel, buffer);
+            }
+
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private static <V> EmbeddingMatrix<V> malformed(Path path) {
+        logger.log(Level.WARNING, "Ignoring the malformed cache entry {0}.", path);
+        return null;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.linear.*;
+
+import java.lang.System.Logger.Level;
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Partial eigendecomposition of a symmetric linear operator that computes only the {@code k} eigenpairs
+ * with the largest eigenvalues, the same ones that {@link EigenDecomposition} puts first.
+ * <p>
+ * This is the thick-restart Lanczos method with full reorthogonalization. It accesses the operator
+ * only through the matrix-vector products, so sparse operators are processed in memory proportional
+ * to their non-zero entries plus {@code n} times the size of the Krylov basis.
+ *
+ * @see <a href="https://doi.org/10.6028/jres.045.026">Lanczos (J. Res. Natl. Bur. Stand. 45:4)</a>
+ * @see <a href="https://doi.org/10.1137/S0895479898334605">Wu &amp; Simon (SIAM J. Matrix Anal. Appl. 22:2)</a>
+ */
+public class LanczosEigenDecomposition {
+    /**
+     * The default maximal number of restarts.
+     */
+    public static final int RESTARTS = 300;
+
+    /**
+     * The default relative tolerance of the residual norms.
+     */
+    public static final double TOLERANCE = 1e-10;
+
+    /**
+     * The default seed for the starting vector.
+     */
+    public static final long SEED = 1337;
+
+    private static final System.Logger logger = System.getLogger(LanczosEigenDecomposition.class.getSimpleName());
+
+    /**
+     * The eigenvalues in the descending order.
+     */
+    private final double[] eigenvalues;
+
+    /**
+     * The eigenvectors in the columns.
+     */
+    private final RealMatrix eigenvectors;
+
+    /**
+     * Compute the {@code k} eigenpairs with the largest eigenvalues using the default parameters.
+     *
+     * @param operator the symmetric operator
+     * @param k        the number of eigenpairs
+     */
+    public LanczosEigenDecomposition(RealLinearOperator operator, int k) {
+        this(operator, k, RESTARTS, TOLERANCE, new Random(SEED));
+    }
+
+    /**
+     * Compute the {@code k} eigenpairs with the largest eigenvalues.
+     *
+     * @param operator  the symmetric operator
+     * @param k         the number of eigenpairs
+     * @param restarts  the maximal number of restarts
+     * @param tolerance the relative tolerance of the residual norms
+     * @param random    the random number generator for the starting vector
+     */
+    public LanczosEigenDecomposition(RealLinearOperator operator, int k, int restarts, double tolerance, Random random) {
+        requireNonNull(operator);
+        requireNonNull(random);
+
+        final int n = operator.getRowDimension();
+
+        if (operator.getColumnDimension() != n) {
+            throw new IllegalArgumentException("operator should be square");
+        }
+
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k should be in [1, " + n + "]");
+        }
+
+        final int m = Math.min(n, Math.max(2 * k, k + 32));
+
+        final var basis = new double[m + 1][];
+        final var h = new double[m + 1][m];
+
+        basis[0] = randomUnitVector(n, random, basis, 0);
+
+        int start = 0, restart = 0;
+
+        while (true) {
+            double beta = 0;
+
+            for (int j = start; j < m; j++) {
+                final var w = operator.operate(new ArrayRealVector(basis[j], false)).toArray();
+
+                // Classical Gram-Schmidt applied twice keeps the basis orthogonal in floating point
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int i = 0; i <= j; i++) {
+                        final double dot = dot(basis[i], w);
+                        h[i][j] += dot;
+                        axpy(-dot, basis[i], w);
+                    }
+                }
+
+                beta = norm(w);
+
+                if (j + 1 < m) {
+                    if (beta > TOLERANCE * Math.max(1, Math.abs(h[j][j]))) {
+                        h[j + 1][j] = beta;
+                        scale(1 / beta, w);
+                        basis[j + 1] = w;
+                    } else {
+                        // The Krylov subspace is invariant, so we continue with any orthogonal direction
+                        h[j + 1][j] = 0;
+                        basis[j + 1] = randomUnitVector(n, random, basis, j + 1);
+                    }
+                } else {
+                    basis[m] = w;
+                }
+            }
+
+            final var projection = MatrixUtils.createRealMatrix(m, m);
+
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < m; j++) {
+                    projection.setEntry(i, j, (h[i][j] + h[j][i]) / 2);
+                }
+            }
+
+            final var ritz = new EigenDecomposition(projection);
+            final var theta = ritz.getRealEigenvalues();
+            final var s = ritz.getV();
+
+            final double scale = Math.max(Math.abs(theta[0]), Math.abs(theta[m - 1]));
+            boolean converged = m == n;
+
+            if (!converged) {
+                converged = true;
+
+                for (int i = 0; i < k && converged; i++) {
+                    converged = Math.abs(beta * s.getEntry(m - 1, i)) <= tolerance * Math.max(1, scale);
+                }
+            }
+
+            if (converged || restart++ >= restarts) {
+                if (!converged) {
+                    logger.log(Level.WARNING, "Lanczos has not converged after {0} restarts.", restarts);
+                }
+
+                eigenvalues = new double[k];
+                System.arraycopy(theta, 0, eigenvalues, 0, k);
+                eigenvectors = ritzVectors(basis, s, n, m, k);
+                return;
+            }
+
+            // Thick restart: keep the best Ritz vectors and continue from the residual
+            final int l = Math.min(m - 1, k + (m - k) / 2);
+            final var kept = ritzVectors(basis, s, n, m, l);
+
+            for (int i = 0; i < l; i++) {
+                basis[i] = kept.getColumn(i);
+            }
+
+            for (final var row : h) {
+                Arrays.fill(row, 0);
+            }
+
+            for (int i = 0; i < l; i++) {
+                h[i][i] = theta[i];
+                h[l][i] = beta * s.getEntry(m - 1, i);
+            }
+
+            if (beta > 0) {
+                scale(1 / beta, basis[m]);
+                basis[l] = basis[m];
+            } else {
+                basis[l] = randomUnitVector(n, random, basis, l);
+            }
+
+            start = l;
+        }
+    }
+
+    /**
+     * Get the eigenvalues in the descending order.
+     *
+     * @return the eigenvalues
+     */
+    public double[] getRealEigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /**
+     * Get the matrix whose columns are the eigenvectors corresponding to {@link #getRealEigenvalues()}.
+     *
+     * @return the {@code n}&times;{@code k} matrix of eigenvectors
+     */
+    public RealMatrix getV() {
+        return eigenvectors.copy();
+    }
+
+    private static RealMatrix ritzVectors(double[][] basis, RealMatrix s, int n, int m, int l) {
+        final var vectors = new double[l][n];
+
+        for (int i = 0; i < l; i++) {
+            for (int j = 0; j < m; j++) {
+                axpy(s.getEntry(j, i), basis[j], vectors[i]);
+            }
+        }
+
+        return MatrixUtils.createRealMatrix(vectors).transpose();
+    }
+
+    private static double[] randomUnitVector(int n, Random random, double[][] basis, int size) {
+        while (true) {
+            final var v = new double[n];
+
+            for (int i = 0; i < n; i++) v[i] = random.nextGaussian();
+
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < size; i++) axpy(-dot(basis[i], v), basis[i], v);
+            }
+
+            final double norm = norm(v);
+
+            if (norm > TOLERANCE) {
+                scale(1 / norm, v);
+                return v;
+            }
+        }
+    }
+
+    private static double dot(double[] x, double[] y) {
+        double sum = 0;
+        for (int i = 0; i < x.length; i++) sum += x[i] * y[i];
+        return sum;
+    }
+
+    private static void axpy(double a, double[] x, double[] y) {
+        for (int i = 0; i < x.length; i++) y[i] += a * x[i];
+    }
+
+    private static void scale(double a, double[] x) {
+        for (int i = 0; i < x.length; i++) x[i] *= a;
+    }
+
+    private static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealLinearOperator;
+import org.apache.commons.math3.linear.RealVector;
+import org.jgrapht.Graph;
+import org.jgrapht.util.VertexToIntegerMapping;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A sparse, matrix-free Laplacian of the undirected graph that supports only the matrix-vector products.
+ * <p>
+ * The operator stores the diagonal and the off-diagonal entries in the compressed sparse row format,
+ * so its memory is proportional to the number of edges. Similarly to
+ * {@link Matrices#buildDegreeMatrix(Graph, VertexToIntegerMapping)} and
+ * {@link Matrices#buildAdjacencyMatrix(Graph, VertexToIntegerMapping, boolean)}, the degrees are
+ * the numbers of incident edges, the off-diagonal entries are the edge weights, and the loops are ignored.
+ *
+ * @see Matrices#buildSymmetricLaplacian(Graph, VertexToIntegerMapping)
+ */
+public class LaplacianOperator extends RealLinearOperator {
+    /**
+     * Create the Laplacian D&minus;A of the given graph.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @param <E>     the type of edges in the graph
+     * @return the Laplacian
+     */
+    public static <V, E> LaplacianOperator of(Graph<V, E> graph, VertexToIntegerMapping<V> mapping) {
+        final var scale = new double[graph.vertexSet().size()];
+        Arrays.fill(scale, 1);
+        return new LaplacianOperator(graph, mapping, computeDegrees(graph, mapping), scale);
+    }
+
+    /**
+     * Create the symmetric normalized Laplacian D<sup>-1/2</sup>(D&minus;A)D<sup>-1/2</sup>
+     * of the given graph. The rows and columns of the isolated nodes are zero.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @param <E>     the type of edges in the graph
+     * @return the symmetric normalized Laplacian
+     */
+    public static <V, E> LaplacianOperator symmetric(Graph<V, E> graph, VertexToIntegerMapping<V> mapping) {
+        final var degrees = computeDegrees(graph, mapping);
+        final var scale = new double[degrees.length];
+
+        for (int i = 0; i < degrees.length; i++) {
+            scale[i] = degrees[i] > 0 ? 1 / Math.sqrt(degrees[i]) : 0;
+        }
+
+        return new LaplacianOperator(graph, mapping, degrees, scale);
+    }
+
+    /**
+     * The diagonal entries.
+     */
+    private final double[] diagonal;
+
+    /**
+     * The offsets of the rows in {@code columns} and {@code values}; this array has {@code n + 1} elements.
+     */
+    private final int[] offsets;
+
+    /**
+     * The column indices of the off-diagonal entries.
+     */
+    private final int[] columns;
+
+    /**
+     * The off-diagonal entries.
+     */
+    private final double[] values;
+
+    /**
+     * Create an instance of the Laplacian D&minus;A scaled as S(D&minus;A)S for the diagonal S.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param degrees the node degrees
+     * @param scale   the diagonal of S
+     * @param <V>     the type of nodes in the graph
+     * @param <E>     the type of edges in the graph
+     */
+    protected <V, E> LaplacianOperator(Graph<V, E> graph, VertexToIntegerMapping<V> mapping, double[] degrees, double[] scale) {
+        final int n = degrees.length;
+
+        diagonal = new double[n];
+        offsets = new int[n + 1];
+
+        for (int i = 0; i < n; i++) diagonal[i] = degrees[i] * scale[i] * scale[i];
+
+        for (final var edge : graph.edgeSet()) {
+            final int i = mapping.getVertexMap().get(graph.getEdgeSource(edge));
+            final int j = mapping.getVertexMap().get(graph.getEdgeTarget(edge));
+
+            if (i != j) {
+                offsets[i + 1]++;
+                offsets[j + 1]++;
+            }
+        }
+
+        for (int i = 0; i < n; i++) offsets[i + 1] += offsets[i];
+
+        columns = new int[offsets[n]];
+        values = new double[offsets[n]];
+
+        final var positions = Arrays.copyOf(offsets, n);
+
+        for (final var edge : graph.edgeSet()) {
+            final int i = mapping.getVertexMap().get(graph.getEdgeSource(edge));
+            final int j = mapping.getVertexMap().get(graph.getEdgeTarget(edge));
+
+            if (i != j) {
+                final double value = -graph.getEdgeWeight(edge) * scale[i] * scale[j];
+                columns[positions[i]] = j;
+                values[positions[i]++] = value;
+                columns[positions[j]] = i;
+                values[positions[j]++] = value;
+            }
+        }
+    }
+
+    @Override
+    public int getRowDimension() {
+        return diagonal.length;
+    }
+
+    @Override
+    public int getColumnDimension() {
+        return diagonal.length;
+    }
+
+    /**
+     * Get the number of the stored off-diagonal entries.
+     *
+     * @return the number of the off-diagonal entries
+     */
+    public int getNonZeroEntries() {
+        return values.length;
+    }
+
+    /**
+     * Get the diagonal entry of the row.
+     *
+     * @param row the row
+     * @return the diagonal entry
+     */
+    public double getDiagonal(int row) {
+        return diagonal[row];
+    }
+
+    /**
+     * Get the position of the first off-diagonal entry of the row.
+     *
+     * @param row the row
+     * @return the position of the first entry
+     * @see #getColumn(int)
+     * @see #getValue(int)
+     */
+    public int getRowStart(int row) {
+        return offsets[row];
+    }
+
+    /**
+     * Get the position following the last off-diagonal entry of the row.
+     *
+     * @param row the row
+     * @return the position after the last entry
+     */
+    public int getRowEnd(int row) {
+        return offsets[row + 1];
+    }
+
+    /**
+     * Get the column of the off-diagonal entry.
+     *
+     * @param position the position of the entry
+     * @return the column
+     */
+    public int getColumn(int position) {
+        return columns[position];
+    }
+
+    /**
+     * Get the value of the off-diagonal entry.
+     *
+     * @param position the position of the entry
+     * @return the value
+     */
+    public double getValue(int position) {
+        return values[position];
+    }
+
+    /**
+     * Multiply the operator by the vector {@code x} and store the result in {@code y}.
+     *
+     * @param x the vector
+     * @param y the result
+     */
+    public void operate(double[] x, double[] y) {
+        if (x.length != diagonal.length) throw new DimensionMismatchException(x.length, diagonal.length);
+        if (y.length != diagonal.length) throw new DimensionMismatchException(y.length, diagonal.length);
+
+        for (int i = 0; i < diagonal.length; i++) {
+            double sum = diagonal[i] * x[i];
+
+            for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+                sum += values[p] * x[columns[p]];
+            }
+
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Multiply the operator by the block of vectors {@code x} and store the result in {@code y}.
+     * The blocks are stored in the row-major order, so the row {@code i} of the block occupies the elements
+     * {@code i * width, ..., (i + 1) * width - 1}. The rows of the result are computed in parallel.
+     *
+     * @param x     the block of vectors
+     * @param y     the result
+     * @param width the number of vectors in the block
+     */
+    public void operate(double[] x, double[] y, int width) {
+        final long size = (long) diagonal.length * width;
+
+        if (x.length != size) throw new DimensionMismatchException(x.length, (int) size);
+        if (y.length != size) throw new DimensionMismatchException(y.length, (int) size);
+
+        IntStream.range(0, diagonal.length).parallel().forEach(i -> {
+            final int row = i * width;
+
+            for (int j = 0; j < width; j++) y[row + j] = diagonal[i] * x[row + j];
+
+            for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+                final int column = columns[p] * width;
+                final double value = values[p];
+
+                for (int j = 0; j < width; j++) y[row + j] += value * x[column + j];
+            }
+        });
+    }
+
+    @Override
+    public RealVector operate(RealVector x) {
+        final var data = (x instanceof ArrayRealVector) ? ((ArrayRealVector) x).getDataRef() : x.toArray();
+
+        final var y = new double[diagonal.length];
+        operate(data, y);
+
+        return new ArrayRealVector(y, false);
+    }
+
+    /**
+     * Since the Laplacian is symmetric, this is the same as {@link #operate(RealVector)}.
+     *
+     * @param x the vector
+     * @return the product
+     */
+    @Override
+    public RealVector operateTranspose(RealVector x) {
+        return operate(x);
+    }
+
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /**
+     * Compute the numbers of edges incident to the nodes.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @return the node degrees
+     */
+    private static <V> double[] computeDegrees(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping) {
+        final var degrees = new double[graph.vertexSet().size()];
+
+        for (final var entry : mapping.getVertexMap().entrySet()) {
+            degrees[entry.getValue()] = graph.degreeOf(entry.getKey());
+        }
+
+        return degrees;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.nlpub.watset.graph.IndexedClustering;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utilities for parsing the clusterings written by the official implementation of Markov Clustering.
+ * <p>
+ * The parsers work directly on bytes and accumulate the node indices in primitive arrays,
+ * so no strings or boxed integers are created per node.
+ *
+ * @see org.nlpub.watset.graph.MarkovClusteringExternal
+ * @see <a href="https://micans.org/mcl/man/mcxio.html">mcxio - the format specification for mcl matrices</a>
+ */
+public final class MCLFormat {
+    private MCLFormat() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * The buffer size.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Parse the clustering written with the {@code --abc} option: one cluster of
+     * whitespace-separated node indices per line.
+     *
+     * @param stream the input stream
+     * @param nodes  the nodes addressed by their indices
+     * @param <V>    the type of nodes in the graph
+     * @return the clustering
+     * @throws IOException if an I/O error occurs
+     */
+    public static <V> IndexedClustering<V> parseLines(InputStream stream, List<V> nodes) throws IOException {
+        final var reader = new ByteReader(stream);
+        final var builder = new Builder(nodes.size());
+
+        int value = -1;
+
+        for (int b = reader.read(); b >= 0; b = reader.read()) {
+            if (b >= '0' && b <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (b - '0');
+            } else if (b == '\t' || b == ' ' || b == '\r' || b == '\n') {
+                if (value >= 0) {
+                    builder.add(value);
+                    value = -1;
+                }
+
+                if (b == '\n') builder.close();
+            } else {
+                throw new IllegalStateException("Unexpected character in clustering: " + (char) b);
+            }
+        }
+
+        if (value >= 0) builder.add(value);
+
+        builder.close();
+
+        return builder.build(nodes);
+    }
+
+    /**
+     * Parse the clustering written in the native matrix format. Each column of
+     * this matrix is a cluster, and its entries are the node indices.
+     *
+     * @param stream the input stream
+     * @param nodes  the nodes addressed by their indices
+     * @param <V>    the type of nodes in the graph
+     * @return the clustering
+     * @throws IOException if an I/O error occurs
+     */
+    public static <V> IndexedClustering<V> parseNative(InputStream stream, List<V> nodes) throws IOException {
+        final var reader = new ByteReader(stream);
+        final var builder = new Builder(nodes.size());
+
+        skipHeader(reader);
+
+        boolean column = false;
+        int value = -1;
+
+        for (int b = reader.read(); ; b = reader.read()) {
+            if (b >= '0' && b <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (b - '0');
+                continue;
+            }
+
+            if (value >= 0) {
+                // The first number in the column is its own index
+                if (column) builder.add(value);
+                column = true;
+                value = -1;
+            }
+
+            if (b == ':') {
+                // The entry values are of no interest
+                do b = reader.read(); while (b >= 0 && !Character.isWhitespace(b) && b != '$');
+            }
+
+            if (b < 0) throw new IllegalStateException("Clustering matrix is not terminated.");
+
+            if (b == '$') {
+                if (!column) throw new IllegalStateException("Cluster has no column index.");
+                builder.close();
+                column = false;
+            } else if (b == ')') {
+                return builder.build(nodes);
+            } else if (!Character.isWhitespace(b)) {
+                throw new IllegalStateException("Unexpected character in clustering matrix: " + (char) b);
+            }
+        }
+    }
+
+    /**
+     * Skip everything up to and including the {@code begin} token of the matrix data.
+     *
+     * @param reader the reader
+     * @throws IOException if an I/O error occurs
+     */
+    private static void skipHeader(ByteReader reader) throws IOException {
+        final var token = new byte[]{'b', 'e', 'g', 'i', 'n'};
+
+        for (int b = reader.read(), matched = 0; b >= 0; b = reader.read()) {
+            matched = (b == token[matched]) ? matched + 1 : (b == token[0] ? 1 : 0);
+
+            if (matched == token.length) return;
+        }
+
+        throw new IllegalStateException("Clustering matrix has no data.");
+    }
+
+    /**
+     * A minimal buffered reader of bytes.
+     */
+    private static final class ByteReader {
+        private final InputStream stream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private ByteReader(InputStream stream) {
+            this.stream = stream;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = stream.read(buffer, 0, buffer.length);
+                position = 0;
+
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+
+            return buffer[position++] & 0xFF;
+        }
+    }
+
+    /**
+     * An accumulator of clusters in growing primitive arrays.
+     */
+    private static final class Builder {
+        private final int n;
+        private int[] offsets = new int[16];
+        private int[] members;
+        private int clusters;
+        private int size;
+
+        private Builder(int n) {
+            this.n = n;
+            this.members = new int[Math.max(16, n)];
+        }
+
+        private void add(int node) {
+            if (node >= n) throw new IllegalStateException("Unknown node index in clustering: " + node);
+            if (size == members.length) members = Arrays.copyOf(members, size * 2);
+            members[size++] = node;
+        }
+
+        /**
+         * Finish the current cluster unless it is empty.
+         */
+        private void close() {
+            if (size == offsets[clusters]) return;
+            if (clusters + 2 > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            offsets[++clusters] = size;
+        }
+
+        private <V> IndexedClustering<V> build(List<V> nodes) {
+            return new IndexedClustering<>(nodes, Arrays.copyOf(offsets, clusters + 1), Arrays.copyOf(members, size));
+        }
+    }
+}
@@ -20,11 +20,12 @@ package org.nlpub.watset.util;
 import org.apache.commons.math3.linear.*;
 import org.jgrapht.Graph;
 import org.jgrapht.util.VertexToIntegerMapping;
-import org.nlpub.watset.graph.NodeEmbedding;
+import org.nlpub.watset.graph.EmbeddingMatrix;
 
 import java.lang.System.Logger.Level;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 /**
  * Utilities for working with matrices.
@@ -36,6 +37,32 @@ public final class Matrices {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
+    /**
+     * The method of computing the eigenvectors of the graph Laplacian.
+     */
+    public enum Eigensolver {
+        /**
+         * Full eigendecomposition of the dense Laplacian matrix.
+         *
+         * @see EigenDecomposition
+         */
+        DENSE,
+
+        /**
+         * Lanczos method over the sparse Laplacian that computes only the needed eigenpairs.
+         *
+         * @see LanczosEigenDecomposition
+         */
+        LANCZOS,
+
+        /**
+         * Randomized range finder over the sparse Laplacian that approximates the needed eigenpairs.
+         *
+         * @see RandomizedEigenDecomposition
+         */
+        RANDOMIZED
+    }
+
     /**
      * Construct an adjacency matrix for the given graph.
      * <p>
@@ -50,7 +77,7 @@ public final class Matrices {
      */
     public static <V, E> RealMatrix buildAdjacencyMatrix(Graph<V, E> graph, VertexToIntegerMapping<V> mapping, boolean addLoops) {
         if (graph.vertexSet().size() > 2048) {
-            logger.log(Level.WARNING, "Graph is large: %d nodes.", graph.vertexSet().size());
+            logger.log(Level.WARNING, "Graph is large: {0} nodes.", graph.vertexSet().size());
         }
 
         final var matrix = addLoops ?
@@ -98,12 +125,64 @@ public final class Matrices {
      * @return a symmetric Laplacian
      */
     public static RealMatrix buildSymmetricLaplacian(RealMatrix degree, RealMatrix adjacency) {
-        final var sqrt = degree.copy();
-        sqrt.walkInOptimizedOrder(new InflateVisitor(.5));
-        final var isqrt = MatrixUtils.inverse(sqrt);
+        final var isqrt = new double[degree.getRowDimension()];
+
+        for (int i = 0; i < isqrt.length; i++) {
+            final double d = degree.getEntry(i, i);
+            isqrt[i] = d > 0 ? 1 / Math.sqrt(d) : 0;
+        }
 
+        // Since D^-1/2 is diagonal, each element of D^-1/2 (D - A) D^-1/2 is scaled independently
         final var laplacian = degree.subtract(adjacency);
-        return isqrt.multiply(laplacian).multiply(isqrt);
+
+        laplacian.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+            @Override
+            public double visit(int row, int column, double value) {
+                return value * isqrt[row] * isqrt[column];
+            }
+        });
+
+        return laplacian;
+    }
+
+    /**
+     * Construct a symmetric Laplacian for the given graph directly from its edges.
+     * It equals to {@link #buildSymmetricLaplacian(RealMatrix, RealMatrix)} of the matrices built by
+     * {@link #buildDegreeMatrix(Graph, VertexToIntegerMapping)} and
+     * {@link #buildAdjacencyMatrix(Graph, VertexToIntegerMapping, boolean)} without loops.
+     * <p>
+     * Note that the rows and columns of the isolated nodes are zero.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @param <E>     the type of edges in the graph
+     * @return a symmetric Laplacian
+     */
+    public static <V, E> RealMatrix buildSymmetricLaplacian(Graph<V, E> graph, VertexToIntegerMapping<V> mapping) {
+        if (graph.vertexSet().size() > 2048) {
+            logger.log(Level.WARNING, "Graph is large: {0} nodes.", graph.vertexSet().size());
+        }
+
+        final var isqrt = computeInverseSqrtDegrees(graph, mapping);
+        final var laplacian = MatrixUtils.createRealMatrix(isqrt.length, isqrt.length);
+
+        for (int i = 0; i < isqrt.length; i++) {
+            if (isqrt[i] > 0) laplacian.setEntry(i, i, 1);
+        }
+
+        for (final var edge : graph.edgeSet()) {
+            final int i = mapping.getVertexMap().get(graph.getEdgeSource(edge));
+            final int j = mapping.getVertexMap().get(graph.getEdgeTarget(edge));
+
+            if (i != j) {
+                final double value = -graph.getEdgeWeight(edge) * isqrt[i] * isqrt[j];
+                laplacian.setEntry(i, j, value);
+                laplacian.setEntry(j, i, value);
+            }
+        }
+
+        return laplacian;
     }
 
     /**
@@ -135,16 +214,41 @@ public final class Matrices {
      * @see <a href="https://doi.org/10.1007/s11222-007-9033-z">von Luxburg (Statistics and Computing 17:4)</a>
      * @see <a href="https://scikit-learn.org/stable/modules/generated/sklearn.manifold.SpectralEmbedding.html">sklearn.manifold.SpectralEmbedding</a>
      */
-    public static <V> List<NodeEmbedding<V>> computeSpectralEmbedding(RealMatrix laplacian, VertexToIntegerMapping<V> mapping, int k) {
+    public static <V> EmbeddingMatrix<V> computeSpectralEmbedding(RealMatrix laplacian, VertexToIntegerMapping<V> mapping, int k) {
         final var eigen = new EigenDecomposition(laplacian);
-        final var matrix = eigen.getV().getSubMatrix(0, laplacian.getRowDimension() - 1, 0, k - 1);
+        return buildEmbedding(eigen.getV().getSubMatrix(0, laplacian.getRowDimension() - 1, 0, k - 1), mapping);
+    }
 
-        final var norms = computeRowNorms(matrix);
-        matrix.walkInOptimizedOrder(new RowNormalizeVisitor(norms));
+    /**
+     * Compute spectral embedding of the graph nodes using the pre-computed sparse Laplacian
+     * and the Lanczos method.
+     *
+     * @param laplacian the graph Laplacian
+     * @param mapping   the mapping
+     * @param k         the number of dimensions
+     * @param <V>       the type of nodes in the graph
+     * @return spectral embeddings of the graph nodes
+     * @see LanczosEigenDecomposition
+     */
+    public static <V> EmbeddingMatrix<V> computeSparseSpectralEmbedding(RealLinearOperator laplacian, VertexToIntegerMapping<V> mapping, int k) {
+        final var eigen = new LanczosEigenDecomposition(laplacian, k);
+        return buildEmbedding(eigen.getV(), mapping);
+    }
 
-        return mapping.getVertexMap().entrySet().stream().
-                map(e -> new NodeEmbedding<>(e.getKey(), matrix.getRow(e.getValue()))).
-                collect(Collectors.toList());
+    /**
+     * Compute approximate spectral embedding of the graph nodes using the pre-computed sparse Laplacian
+     * and the randomized range finder.
+     *
+     * @param laplacian the graph Laplacian
+     * @param mapping   the mapping
+     * @param k         the number of dimensions
+     * @param <V>       the type of nodes in the graph
+     * @return spectral embeddings of the graph nodes
+     * @see RandomizedEigenDecomposition
+     */
+    public static <V> EmbeddingMatrix<V> computeRandomizedSpectralEmbedding(RealLinearOperator laplacian, VertexToIntegerMapping<V> mapping, int k) {
+        final var eigen = new RandomizedEigenDecomposition(laplacian, k);
+        return buildEmbedding(eigen.getV(), mapping);
     }
 
     /**
@@ -160,13 +264,274 @@ public final class Matrices {
      * @see <a href="https://doi.org/10.1007/s11222-007-9033-z">von Luxburg (Statistics and Computing 17:4)</a>
      * @see <a href="https://scikit-learn.org/stable/modules/generated/sklearn.manifold.SpectralEmbedding.html">sklearn.manifold.SpectralEmbedding</a>
      */
-    public static <V> List<NodeEmbedding<V>> computeSpectralEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k) {
-        final var degree = Matrices.buildDegreeMatrix(graph, mapping);
-        final var adjacency = Matrices.buildAdjacencyMatrix(graph, mapping, false);
-        final var laplacian = Matrices.buildSymmetricLaplacian(degree, adjacency);
+    public static <V> EmbeddingMatrix<V> computeSpectralEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k) {
+        final var laplacian = Matrices.buildSymmetricLaplacian(graph, mapping);
         return computeSpectralEmbedding(laplacian, mapping, k);
     }
 
+    /**
+     * Compute spectral embedding of the graph nodes using the specified eigensolver.
+     * Both the solvers select the same eigenvectors, so their embeddings differ
+     * only in the signs and the bases of the eigenspaces.
+     *
+     * @param graph       the graph
+     * @param mapping     the mapping
+     * @param k           the number of dimensions
+     * @param eigensolver the eigensolver
+     * @param <V>         the type of nodes in the graph
+     * @return spectral embeddings of the graph nodes
+     */
+    public static <V> EmbeddingMatrix<V> computeSpectralEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k, Eigensolver eigensolver) {
+        switch (eigensolver) {
+            case DENSE:
+                return computeSpectralEmbedding(graph, mapping, k);
+            case LANCZOS:
+                return computeSparseSpectralEmbedding(buildSparseSymmetricLaplacian(graph, mapping), mapping, k);
+            case RANDOMIZED:
+                return computeRandomizedSpectralEmbedding(buildSparseSymmetricLaplacian(graph, mapping), mapping, k);
+            default:
+                throw new IllegalArgumentException("Unknown eigensolver: " + eigensolver);
+        }
+    }
+
+    /**
+     * Compute approximate spectral embedding of the graph nodes using the Nyström method.
+     * <p>
+     * The symmetric Laplacian is restricted to {@code m} randomly sampled landmark nodes, this
+     * m&times;m block is decomposed exactly, and its top {@code k} eigenvectors are extended to all
+     * the nodes in parallel through the Laplacian entries between the nodes and the landmarks.
+     * The nodes that neither are landmarks nor adjacent to them are then reached hop by hop: every such node
+     * receives the sum of the vectors of its already embedded neighbors weighted by the normalized adjacency.
+     * This takes O(m<sup>3</sup> + nnz&middot;k) time instead of O(n<sup>3</sup>). Only the nodes
+     * that are not connected to any landmark, such as the isolated nodes, receive zero vectors.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param k       the number of dimensions
+     * @param m       the number of landmarks
+     * @param random  the random number generator
+     * @param <V>     the type of nodes in the graph
+     * @return approximate spectral embeddings of the graph nodes
+     * @see <a href="https://doi.org/10.1109/TPAMI.2004.1262185">Fowlkes et al. (IEEE PAMI 26:2)</a>
+     */
+    public static <V> EmbeddingMatrix<V> computeNystromSpectralEmbedding(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping, int k, int m, Random random) {
+        final int n = graph.vertexSet().size();
+
+        if (m < k || m > n) throw new IllegalArgumentException("m should be in [" + k + ", " + n + "]");
+
+        final var laplacian = buildSparseSymmetricLaplacian(graph, mapping);
+
+        // Partial Fisher-Yates shuffle chooses the landmarks
+        final var order = IntStream.range(0, n).toArray();
+
+        for (int i = 0; i < m; i++) {
+            final int j = i + random.nextInt(n - i);
+            final int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        final var landmarks = new int[n];
+        Arrays.fill(landmarks, -1);
+
+        for (int i = 0; i < m; i++) landmarks[order[i]] = i;
+
+        final var block = MatrixUtils.createRealMatrix(m, m);
+
+        for (int i = 0; i < m; i++) {
+            final int row = order[i];
+            block.setEntry(i, i, laplacian.getDiagonal(row));
+
+            for (int p = laplacian.getRowStart(row); p < laplacian.getRowEnd(row); p++) {
+                final int column = landmarks[laplacian.getColumn(p)];
+                if (column >= 0) block.setEntry(i, column, laplacian.getValue(p));
+            }
+        }
+
+        final var eigen = new EigenDecomposition(block);
+        final var values = eigen.getRealEigenvalues();
+        final var vectors = eigen.getV();
+
+        // Row i of the extension is the i-th row of the Laplacian restricted to the landmarks times U_k Λ_k^-1
+        final var scaled = new double[m][k];
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < k; j++) {
+                scaled[i][j] = values[j] != 0 ? vectors.getEntry(i, j) / values[j] : 0;
+            }
+        }
+
+        final var embedding = new double[n * k];
+
+        IntStream.range(0, n).parallel().forEach(row -> {
+            final int offset = row * k;
+
+            if (landmarks[row] >= 0) {
+                for (int j = 0; j < k; j++) embedding[offset + j] = vectors.getEntry(landmarks[row], j);
+            } else {
+                for (int p = laplacian.getRowStart(row); p < laplacian.getRowEnd(row); p++) {
+                    final int landmark = landmarks[laplacian.getColumn(p)];
+
+                    if (landmark >= 0) {
+                        for (int j = 0; j < k; j++) embedding[offset + j] += laplacian.getValue(p) * scaled[landmark][j];
+                    }
+                }
+            }
+        });
+
+        propagate(laplacian, embedding, k);
+
+        return buildEmbedding(embedding, k, mapping);
+    }
+
+    /**
+     * Propagate the non-zero rows of the embedding to the zero ones hop by hop. In every hop, each zero row
+     * adjacent to the non-zero rows of the previous hops becomes their sum weighted by the normalized adjacency,
+     * which is the negated off-diagonal entries of the symmetric Laplacian. The propagation stops when no rows change.
+     *
+     * @param laplacian the sparse symmetric Laplacian
+     * @param embedding the embedding in the row-major order
+     * @param k         the number of dimensions
+     */
+    private static void propagate(LaplacianOperator laplacian, double[] embedding, int k) {
+        final int n = embedding.length / k;
+        final var embedded = new boolean[n];
+
+        for (int row = 0; row < n; row++) {
+            for (int j = row * k; j < (row + 1) * k && !embedded[row]; j++) embedded[row] = embedding[j] != 0;
+        }
+
+        var frontier = IntStream.range(0, n).filter(row -> embedded[row]).toArray();
+        final var queued = new boolean[n];
+        final var candidates = new int[n];
+
+        while (frontier.length > 0) {
+            // The rows of the next hop are the zero rows adjacent to the rows embedded in the previous one
+            int size = 0;
+
+            for (final int row : frontier) {
+                for (int p = laplacian.getRowStart(row); p < laplacian.getRowEnd(row); p++) {
+                    final int column = laplacian.getColumn(p);
+
+                    if (!embedded[column] && !queued[column]) {
+                        queued[column] = true;
+                        candidates[size++] = column;
+                    }
+                }
+            }
+
+            final var hop = Arrays.copyOf(candidates, size);
+
+            // Only the rows embedded before this hop are read, so the rows of the hop are written independently
+            Arrays.stream(hop).parallel().forEach(row -> {
+                final int offset = row * k;
+
+                for (int p = laplacian.getRowStart(row); p < laplacian.getRowEnd(row); p++) {
+                    final int column = laplacian.getColumn(p);
+
+                    if (embedded[column]) {
+                        for (int j = 0; j < k; j++) embedding[offset + j] -= laplacian.getValue(p) * embedding[column * k + j];
+                    }
+                }
+            });
+
+            // The rows that sum up to zero are left for the later hops
+            size = 0;
+
+            for (final int row : hop) {
+                queued[row] = false;
+
+                for (int j = row * k; j < (row + 1) * k && !embedded[row]; j++) embedded[row] = embedding[j] != 0;
+
+                if (embedded[row]) candidates[size++] = row;
+            }
+
+            frontier = Arrays.copyOf(candidates, size);
+        }
+    }
+
+    /**
+     * Construct a sparse symmetric Laplacian for the given graph that supports only the
+     * matrix-vector products. It equals to {@link #buildSymmetricLaplacian(Graph, VertexToIntegerMapping)}.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @param <E>     the type of edges in the graph
+     * @return a sparse symmetric Laplacian
+     * @see LaplacianOperator#symmetric(Graph, VertexToIntegerMapping)
+     */
+    public static <V, E> LaplacianOperator buildSparseSymmetricLaplacian(Graph<V, E> graph, VertexToIntegerMapping<V> mapping) {
+        return LaplacianOperator.symmetric(graph, mapping);
+    }
+
+    /**
+     * Compute the diagonal of D<sup>-1/2</sup>, where D is the degree matrix of the given graph.
+     * The isolated nodes have zero values.
+     *
+     * @param graph   the graph
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @return the inverse square roots of the node degrees
+     */
+    private static <V> double[] computeInverseSqrtDegrees(Graph<V, ?> graph, VertexToIntegerMapping<V> mapping) {
+        final var isqrt = new double[graph.vertexSet().size()];
+
+        for (final var entry : mapping.getVertexMap().entrySet()) {
+            final int degree = graph.degreeOf(entry.getKey());
+            isqrt[entry.getValue()] = degree > 0 ? 1 / Math.sqrt(degree) : 0;
+        }
+
+        return isqrt;
+    }
+
+    /**
+     * Normalize the rows of the given matrix and assign them to the corresponding nodes.
+     * The rows having the zero norm are kept as is.
+     *
+     * @param matrix  the matrix whose rows are the node vectors
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @return the node embeddings
+     */
+    private static <V> EmbeddingMatrix<V> buildEmbedding(RealMatrix matrix, VertexToIntegerMapping<V> mapping) {
+        final int n = matrix.getRowDimension(), k = matrix.getColumnDimension();
+        final var data = new double[n * k];
+
+        matrix.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+            @Override
+            public void visit(int row, int column, double value) {
+                data[row * k + column] = value;
+            }
+        });
+
+        return buildEmbedding(data, k, mapping);
+    }
+
+    /**
+     * Normalize the rows of the given row-major array in place and assign them to the corresponding nodes.
+     * The rows having the zero norm are kept as is.
+     *
+     * @param data    the node vectors in the row-major order
+     * @param k       the number of dimensions
+     * @param mapping the mapping
+     * @param <V>     the type of nodes in the graph
+     * @return the node embeddings
+     */
+    private static <V> EmbeddingMatrix<V> buildEmbedding(double[] data, int k, VertexToIntegerMapping<V> mapping) {
+        IntStream.range(0, data.length / k).parallel().forEach(i -> {
+            double norm = 0;
+            for (int j = i * k; j < (i + 1) * k; j++) norm += data[j] * data[j];
+
+            if (norm > 0) {
+                norm = Math.sqrt(norm);
+                for (int j = i * k; j < (i + 1) * k; j++) data[j] /= norm;
+            }
+        });
+
+        return new EmbeddingMatrix<>(mapping.getIndexList(), data, k);
+    }
+
     /**
      * Visitor that raises each element to the specified power.
      */
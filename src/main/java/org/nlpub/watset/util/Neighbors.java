@@ -31,7 +31,9 @@ public final class Neighbors {
     }
 
     /**
-     * Extract the neighborhood graph for the given node.
+     * Extract the neighborhood graph for the given node. The result is an unmodifiable copy;
+     * when many neighborhoods of the same graph are needed, {@link AdjacencyIndex#egoNetwork(Object)}
+     * provides them as views without copying.
      *
      * @param graph the graph
      * @param node  the target node
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.nlpub.watset.graph.EmbeddingMatrix;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utilities for writing the node embeddings as a NumPy {@code .npy} matrix and a vocabulary file.
+ * <p>
+ * The matrix is written in the version 1.0 of the format with the little-endian values in the
+ * row-major order, and its header is padded so the data start at a 64-byte boundary. It can be
+ * loaded without parsing by {@code numpy.load(path, mmap_mode='r')}. The vocabulary file has one
+ * node per line in the order of the matrix rows.
+ *
+ * @see <a href="https://numpy.org/doc/stable/reference/generated/numpy.lib.format.html">numpy.lib.format</a>
+ */
+public final class NpyFormat {
+    /**
+     * The data type of the matrix values.
+     */
+    public enum DataType {
+        /**
+         * Single-precision floating-point numbers ({@code <f4}).
+         */
+        FLOAT32("<f4", Float.BYTES),
+
+        /**
+         * Double-precision floating-point numbers ({@code <f8}).
+         */
+        FLOAT64("<f8", Double.BYTES);
+
+        /**
+         * The NumPy type descriptor.
+         */
+        private final String descriptor;
+
+        /**
+         * The value size in bytes.
+         */
+        private final int bytes;
+
+        DataType(String descriptor, int bytes) {
+            this.descriptor = descriptor;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * The format magic string followed by the version 1.0.
+     */
+    private static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0};
+
+    /**
+     * The alignment of the data.
+     */
+    private static final int ALIGNMENT = 64;
+
+    /**
+     * The buffer size.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private NpyFormat() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Write the embedding matrix in the {@code .npy} format.
+     *
+     * @param stream     the output stream
+     * @param embeddings the embeddings
+     * @param type       the data type of the values
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(OutputStream stream, EmbeddingMatrix<?> embeddings, DataType type) throws IOException {
+        stream.write(header(embeddings.size(), embeddings.getDimensions(), type));
+
+        final var buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (final double value : embeddings.getData()) {
+            if (buffer.remaining() < type.bytes) {
+                stream.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+
+            if (type == DataType.FLOAT32) {
+                buffer.putFloat((float) value);
+            } else {
+                buffer.putDouble(value);
+            }
+        }
+
+        stream.write(buffer.array(), 0, buffer.position());
+        stream.flush();
+    }
+
+    /**
+     * Write the vocabulary, one node per line in the order of the matrix rows.
+     *
+     * @param writer     the writer
+     * @param embeddings the embeddings
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeVocabulary(BufferedWriter writer, EmbeddingMatrix<?> embeddings) throws IOException {
+        for (final var node : embeddings.getNodes()) {
+            final var label = node.toString();
+
+            if (label.indexOf('\n') >= 0 || label.indexOf('\r') >= 0) {
+                throw new IllegalStateException("node has line breaks: " + label);
+            }
+
+            writer.write(label);
+            writer.write('\n');
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Build the header of the two-dimensional matrix.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @param type    the data type of the values
+     * @return the header bytes
+     */
+    static byte[] header(int rows, int columns, DataType type) {
+        final var dictionary = "{'descr': '" + type.descriptor + "', 'fortran_order': False, 'shape': (" +
+                rows + ", " + columns + "), }";
+
+        final int prefix = MAGIC.length + Short.BYTES;
+        final int length = ((prefix + dictionary.length() + 1 + ALIGNMENT - 1) / ALIGNMENT) * ALIGNMENT - prefix;
+
+        final var header = ByteBuffer.allocate(prefix + length).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putShort((short) length);
+        header.put(dictionary.getBytes(StandardCharsets.US_ASCII));
+        while (header.remaining() > 1) header.put((byte) ' ');
+        header.put((byte) '\n');
+
+        return header.array();
+    }
+}
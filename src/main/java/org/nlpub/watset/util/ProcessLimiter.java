@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A limiter of the number of concurrently running external processes and of the threads they use.
+ * <p>
+ * Each process acquires a {@link Permit} before starting. At most {@code processes} permits
+ * are given at a time. Each permit grants the process a share of the {@code threads} budget
+ * that is not greater than the requested number of threads, the number of unused threads,
+ * and the fair share of {@code threads / processes} threads, so the processes started at once run
+ * concurrently. Every process is granted at least one thread, so a process waits while all the threads are in use.
+ */
+public class ProcessLimiter {
+    private static final ProcessLimiter INSTANCE = new ProcessLimiter(
+            Runtime.getRuntime().availableProcessors(),
+            Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Get the limiter shared by default; it allows as many processes and threads as there are processors.
+     *
+     * @return the shared limiter
+     */
+    public static ProcessLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The maximal number of concurrent processes.
+     */
+    private final int processes;
+
+    /**
+     * The total number of threads.
+     */
+    private final int threads;
+
+    /**
+     * The process permits.
+     */
+    private final Semaphore semaphore;
+
+    /**
+     * The maximal number of threads granted to a process, which is the fair share of the threads among the processes.
+     */
+    private final int share;
+
+    /**
+     * The number of threads granted to the running processes.
+     */
+    private int used;
+
+    /**
+     * Create an instance of the limiter.
+     *
+     * @param processes the maximal number of concurrent processes
+     * @param threads   the total number of threads
+     */
+    public ProcessLimiter(int processes, int threads) {
+        if (processes < 1) throw new IllegalArgumentException("processes should be positive");
+        if (threads < 1) throw new IllegalArgumentException("threads should be positive");
+
+        this.processes = processes;
+        this.threads = threads;
+        this.semaphore = new Semaphore(processes, true);
+        this.share = Math.max(1, threads / processes);
+    }
+
+    /**
+     * Get the maximal number of concurrent processes.
+     *
+     * @return the maximal number of concurrent processes
+     */
+    public int getProcesses() {
+        return processes;
+    }
+
+    /**
+     * Get the total number of threads.
+     *
+     * @return the total number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Wait for a permit to run a process.
+     *
+     * @param requested the number of threads the process would like to use
+     * @return the permit that must be closed when the process finishes
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public Permit acquire(int requested) throws InterruptedException {
+        semaphore.acquire();
+
+        synchronized (this) {
+            try {
+                // There are fewer threads than processes, so wait for a running process to return its threads
+                while (used >= threads) wait();
+            } catch (InterruptedException e) {
+                semaphore.release();
+                throw e;
+            }
+
+            final int granted = Math.max(1, Math.min(requested, Math.min(threads - used, share)));
+            used += granted;
+            return new Permit(granted);
+        }
+    }
+
+    private synchronized void release(int granted) {
+        used -= granted;
+        semaphore.release();
+        notifyAll();
+    }
+
+    /**
+     * A permit to run an external process.
+     */
+    public final class Permit implements AutoCloseable {
+        private final int granted;
+        private boolean closed;
+
+        private Permit(int granted) {
+            this.granted = granted;
+        }
+
+        /**
+         * Get the number of threads granted to the process.
+         *
+         * @return the number of threads
+         */
+        public int getThreads() {
+            return granted;
+        }
+
+        /**
+         * Release the permit.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(granted);
+            }
+        }
+    }
+}
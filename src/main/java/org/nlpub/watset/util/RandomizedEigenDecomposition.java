@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.linear.*;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Approximate partial eigendecomposition of a symmetric positive semi-definite operator that computes
+ * the {@code k} eigenpairs with the largest eigenvalues using the randomized range finder.
+ * <p>
+ * The operator is applied to a block of {@code k + oversampling} random Gaussian vectors, and the
+ * result is refined by a few power iterations with reorthonormalization. The operator is then projected
+ * onto the orthonormal basis of this block, and the small projection is decomposed exactly. For
+ * {@link LaplacianOperator}, the block products are computed in parallel over the rows.
+ *
+ * @see <a href="https://doi.org/10.1137/090771806">Halko et al. (SIAM Review 53:2)</a>
+ */
+public class RandomizedEigenDecomposition {
+    /**
+     * The default number of additional random vectors.
+     */
+    public static final int OVERSAMPLING = 10;
+
+    /**
+     * The default number of power iterations.
+     */
+    public static final int POWER_ITERATIONS = 2;
+
+    /**
+     * The default seed for the random vectors.
+     */
+    public static final long SEED = 1337;
+
+    /**
+     * The eigenvalues in the descending order.
+     */
+    private final double[] eigenvalues;
+
+    /**
+     * The eigenvectors in the columns.
+     */
+    private final RealMatrix eigenvectors;
+
+    /**
+     * Compute the {@code k} eigenpairs with the largest eigenvalues using the default parameters.
+     *
+     * @param operator the symmetric positive semi-definite operator
+     * @param k        the number of eigenpairs
+     */
+    public RandomizedEigenDecomposition(RealLinearOperator operator, int k) {
+        this(operator, k, OVERSAMPLING, POWER_ITERATIONS, new Random(SEED));
+    }
+
+    /**
+     * Compute the {@code k} eigenpairs with the largest eigenvalues.
+     *
+     * @param operator        the symmetric positive semi-definite operator
+     * @param k               the number of eigenpairs
+     * @param oversampling    the number of additional random vectors
+     * @param powerIterations the number of power iterations
+     * @param random          the random number generator
+     */
+    public RandomizedEigenDecomposition(RealLinearOperator operator, int k, int oversampling, int powerIterations, Random random) {
+        requireNonNull(operator);
+        requireNonNull(random);
+
+        final int n = operator.getRowDimension();
+
+        if (operator.getColumnDimension() != n) {
+            throw new IllegalArgumentException("operator should be square");
+        }
+
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k should be in [1, " + n + "]");
+        }
+
+        final int width = Math.min(n, k + Math.max(0, oversampling));
+
+        if ((long) n * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The block of " + n + "x" + width + " entries is too large");
+        }
+
+        var block = new double[n * width];
+
+        for (int i = 0; i < block.length; i++) block[i] = random.nextGaussian();
+
+        var product = new double[n * width];
+        multiply(operator, block, product, width);
+
+        for (int iteration = 0; iteration < powerIterations; iteration++) {
+            orthonormalize(product, n, width, random);
+
+            final var swap = block;
+            block = product;
+            product = swap;
+
+            multiply(operator, block, product, width);
+        }
+
+        orthonormalize(product, n, width, random);
+
+        // The basis is now in product, and its image is computed into block
+        multiply(operator, product, block, width);
+
+        final var projection = MatrixUtils.createRealMatrix(width, width);
+
+        for (int a = 0; a < width; a++) {
+            for (int b = a; b < width; b++) {
+                double sum = 0;
+                for (int i = 0; i < n; i++) sum += product[i * width + a] * block[i * width + b];
+                projection.setEntry(a, b, sum);
+                projection.setEntry(b, a, sum);
+            }
+        }
+
+        final var eigen = new EigenDecomposition(projection);
+        final var values = eigen.getRealEigenvalues();
+        final var vectors = eigen.getV();
+
+        eigenvalues = new double[k];
+        System.arraycopy(values, 0, eigenvalues, 0, k);
+
+        final var basis = product;
+        final var data = new double[n][k];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            for (int j = 0; j < k; j++) {
+                double sum = 0;
+                for (int a = 0; a < width; a++) sum += basis[i * width + a] * vectors.getEntry(a, j);
+                data[i][j] = sum;
+            }
+        });
+
+        eigenvectors = MatrixUtils.createRealMatrix(data);
+    }
+
+    /**
+     * Get the eigenvalues in the descending order.
+     *
+     * @return the eigenvalues
+     */
+    public double[] getRealEigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /**
+     * Get the matrix whose columns are the eigenvectors corresponding to {@link #getRealEigenvalues()}.
+     *
+     * @return the {@code n}&times;{@code k} matrix of eigenvectors
+     */
+    public RealMatrix getV() {
+        return eigenvectors.copy();
+    }
+
+    /**
+     * Multiply the operator by the row-major block of vectors.
+     *
+     * @param operator the operator
+     * @param x        the block of vectors
+     * @param y        the result
+     * @param width    the number of vectors in the block
+     */
+    private static void multiply(RealLinearOperator operator, double[] x, double[] y, int width) {
+        if (operator instanceof LaplacianOperator) {
+            ((LaplacianOperator) operator).operate(x, y, width);
+            return;
+        }
+
+        final int n = operator.getRowDimension();
+        final var column = new double[n];
+
+        for (int j = 0; j < width; j++) {
+            for (int i = 0; i < n; i++) column[i] = x[i * width + j];
+
+            final var result = operator.operate(new ArrayRealVector(column, false));
+
+            for (int i = 0; i < n; i++) y[i * width + j] = result.getEntry(i);
+        }
+    }
+
+    /**
+     * Orthonormalize the columns of the row-major block with the modified Gram-Schmidt process applied twice.
+     * The columns that vanish are redrawn at random until they have a non-zero component orthogonal to the previous ones,
+     * which exists since there are no more columns than rows.
+     *
+     * @param block  the block
+     * @param n      the number of rows
+     * @param width  the number of columns
+     * @param random the random number generator
+     */
+    private static void orthonormalize(double[] block, int n, int width, Random random) {
+        for (int j = 0; j < width; j++) {
+            double norm;
+
+            while (true) {
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int l = 0; l < j; l++) {
+                        double dot = 0;
+                        for (int i = 0; i < n; i++) dot += block[i * width + l] * block[i * width + j];
+                        for (int i = 0; i < n; i++) block[i * width + j] -= dot * block[i * width + l];
+                    }
+                }
+
+                norm = 0;
+                for (int i = 0; i < n; i++) norm += block[i * width + j] * block[i * width + j];
+                norm = Math.sqrt(norm);
+
+                if (norm > 1e-12) break;
+
+                for (int i = 0; i < n; i++) block[i * width + j] = random.nextGaussian();
+            }
+
+            for (int i = 0; i < n; i++) block[i * width + j] /= norm;
+        }
+    }
+}
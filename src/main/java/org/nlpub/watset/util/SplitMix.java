@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+/**
+ * Counter-based pseudo-random numbers computed by the SplitMix64 finalizer. Every number depends only on
+ * the seed and its index, so the numbers can be drawn in any order and in parallel reproducibly.
+ *
+ * @see <a href="https://doi.org/10.1145/2714064.2660195">Steele et al. (OOPSLA '14)</a>
+ */
+public final class SplitMix {
+    private SplitMix() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Compute a uniformly distributed number in [0, 1) from the seed and the index.
+     *
+     * @param seed  the seed
+     * @param index the index
+     * @return the pseudo-random number
+     */
+    public static double uniform(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
@@ -17,18 +17,27 @@
 
 package org.nlpub.watset.util;
 
+import org.nlpub.watset.graph.EmbeddingMatrix;
 import org.nlpub.watset.graph.NodeEmbedding;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
 
 /**
- * Utilities for handling the Word2Vec text format for node embeddings.
+ * Utilities for handling the Word2Vec text and binary formats for node embeddings.
  *
  * @see <a href="https://papers.nips.cc/paper/5021-distributed-representations-of-words-and-phrases-and-their-compositionality.pdf">Mikolov (NIPS 2013)</a>
  * @see <a href="https://radimrehurek.com/gensim/models/keyedvectors.html">gensim: models.keyedvectors &ndash; Store and query word vectors</a>
@@ -61,12 +70,18 @@ public final class Word2VecFormat {
         REPLACE
     }
 
+    /**
+     * The number of rows formatted by a single task.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
     private Word2VecFormat() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
     /**
      * Write the file in the Word2Vec format representing the node embeddings.
+     * The rows of {@link EmbeddingMatrix} are read in place without creating the per-node objects.
      *
      * @param writer        the writer
      * @param embeddings    the embeddings
@@ -82,36 +97,213 @@ public final class Word2VecFormat {
         final var df = new DecimalFormat("0", DecimalFormatSymbols.getInstance(Locale.ROOT));
         df.setMaximumFractionDigits(10);
 
-        final int k = embeddings.get(0).getPoint().length;
+        final int k = dimensions(embeddings);
 
         writer.write(Integer.toString(embeddings.size()));
         writer.write(' ');
         writer.write(Integer.toString(k));
         writer.write('\n');
 
-        for (final var node : embeddings) {
-            var label = node.get().toString();
-
-            if (label.contains(" ")) {
-                switch (spaceStrategy) {
-                    case FAIL:
-                        throw new IllegalStateException("node has spaces: " + label);
-                    case REPLACE:
-                        label = SPACES.matcher(label).replaceAll("_");
-                        break;
-                    default:
-                        break;
+        if (embeddings instanceof EmbeddingMatrix) {
+            final var matrix = (EmbeddingMatrix<V>) embeddings;
+            final var data = matrix.getData();
+
+            for (int i = 0; i < matrix.size(); i++) {
+                writeLabel(writer, matrix.getNode(i), spaceStrategy);
+
+                for (int j = i * k; j < (i + 1) * k; j++) {
+                    writer.write(' ');
+                    writer.write(df.format(data[j]));
                 }
+
+                writer.write('\n');
+            }
+        } else {
+            for (final var node : embeddings) {
+                writeLabel(writer, node.get(), spaceStrategy);
+
+                for (int j = 0; j < node.getDimensions(); j++) {
+                    writer.write(' ');
+                    writer.write(df.format(node.getCoordinate(j)));
+                }
+
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Write the file in the Word2Vec text format representing the node embeddings.
+     * <p>
+     * The coordinates are written in the shortest notation that is parsed back to the same value
+     * using {@link EdgeListWriter#formatDouble(byte[], int, double)}. The rows are formatted into
+     * byte buffers by blocks in parallel, and the blocks are written in order.
+     *
+     * @param stream        the output stream
+     * @param embeddings    the embeddings
+     * @param spaceStrategy the space handling strategy
+     * @param <V>           the type of nodes in the graph
+     * @throws IOException if an I/O error occurs
+     */
+    public static <V> void writeText(OutputStream stream, List<NodeEmbedding<V>> embeddings, SpaceStrategy spaceStrategy) throws IOException {
+        writeRows(stream, embeddings, spaceStrategy, false);
+    }
+
+    /**
+     * Write the file in the Word2Vec binary format representing the node embeddings.
+     * <p>
+     * It has the same text header as the text format, and each row is the node label followed
+     * by a space, the coordinates as little-endian float32 values, and a line break.
+     * This is the format written by the original word2vec tool with {@code -binary 1}.
+     *
+     * @param stream        the output stream
+     * @param embeddings    the embeddings
+     * @param spaceStrategy the space handling strategy
+     * @param <V>           the type of nodes in the graph
+     * @throws IOException if an I/O error occurs
+     */
+    public static <V> void writeBinary(OutputStream stream, List<NodeEmbedding<V>> embeddings, SpaceStrategy spaceStrategy) throws IOException {
+        writeRows(stream, embeddings, spaceStrategy, true);
+    }
+
+    /**
+     * Write the header and the rows formatted by blocks in parallel.
+     *
+     * @param stream        the output stream
+     * @param embeddings    the embeddings
+     * @param spaceStrategy the space handling strategy
+     * @param binary        whether the coordinates are written as float32 values
+     * @param <V>           the type of nodes in the graph
+     * @throws IOException if an I/O error occurs
+     */
+    private static <V> void writeRows(OutputStream stream, List<NodeEmbedding<V>> embeddings, SpaceStrategy spaceStrategy, boolean binary) throws IOException {
+        if (embeddings.isEmpty()) {
+            throw new IllegalArgumentException("embeddings should not be empty");
+        }
+
+        final int n = embeddings.size(), k = dimensions(embeddings);
+
+        stream.write((n + " " + k + "\n").getBytes(StandardCharsets.US_ASCII));
+
+        final int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // Only a bounded number of formatted blocks is kept in memory at once
+        final int window = 2 * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+
+        for (int start = 0; start < blocks; start += window) {
+            final var formatted = IntStream.range(start, Math.min(blocks, start + window)).parallel().
+                    mapToObj(block -> formatBlock(embeddings, k, block * BLOCK_SIZE, Math.min(n, (block + 1) * BLOCK_SIZE), spaceStrategy, binary)).
+                    toArray(ByteBuffer[]::new);
+
+            for (final var buffer : formatted) {
+                stream.write(buffer.array(), 0, buffer.position());
             }
+        }
+
+        stream.flush();
+    }
 
-            writer.write(label);
+    /**
+     * Format the rows of the block.
+     *
+     * @param embeddings    the embeddings
+     * @param k             the number of dimensions
+     * @param from          the first row, inclusive
+     * @param to            the last row, exclusive
+     * @param spaceStrategy the space handling strategy
+     * @param binary        whether the coordinates are written as float32 values
+     * @param <V>           the type of nodes in the graph
+     * @return the buffer holding the formatted rows up to its position
+     */
+    private static <V> ByteBuffer formatBlock(List<NodeEmbedding<V>> embeddings, int k, int from, int to, SpaceStrategy spaceStrategy, boolean binary) {
+        final var matrix = (embeddings instanceof EmbeddingMatrix) ? (EmbeddingMatrix<V>) embeddings : null;
+        // The worst case of a row without its label, and a typical size of a row for the initial capacity
+        final int row = binary ? k * Float.BYTES + 2 : k * (EdgeListWriter.DOUBLE_LENGTH + 1) + 1;
+        final int typical = binary ? row + 16 : k * 20 + 16;
 
-            for (final double v : node.getPoint()) {
-                writer.write(' ');
-                writer.write(df.format(v));
+        var buffer = ByteBuffer.allocate((to - from) * typical).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = from; i < to; i++) {
+            final var embedding = isNull(matrix) ? embeddings.get(i) : null;
+            final var label = label(isNull(matrix) ? embedding.get() : matrix.getNode(i), spaceStrategy).getBytes(StandardCharsets.UTF_8);
+
+            if (buffer.remaining() < label.length + row) {
+                final var larger = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + label.length + row)).order(ByteOrder.LITTLE_ENDIAN);
+                buffer = larger.put(buffer.flip());
             }
 
-            writer.write('\n');
+            buffer.put(label);
+
+            if (binary) {
+                buffer.put((byte) ' ');
+
+                for (int j = 0; j < k; j++) {
+                    buffer.putFloat((float) (isNull(matrix) ? embedding.getCoordinate(j) : matrix.getData()[i * k + j]));
+                }
+            } else {
+                final var bytes = buffer.array();
+                int position = buffer.position();
+
+                for (int j = 0; j < k; j++) {
+                    bytes[position++] = ' ';
+                    position = EdgeListWriter.formatDouble(bytes, position, isNull(matrix) ? embedding.getCoordinate(j) : matrix.getData()[i * k + j]);
+                }
+
+                buffer.position(position);
+            }
+
+            buffer.put((byte) '\n');
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Get the number of dimensions of the embeddings.
+     *
+     * @param embeddings the non-empty embeddings
+     * @param <V>        the type of nodes in the graph
+     * @return the number of dimensions
+     */
+    private static <V> int dimensions(List<NodeEmbedding<V>> embeddings) {
+        return (embeddings instanceof EmbeddingMatrix) ?
+                ((EmbeddingMatrix<V>) embeddings).getDimensions() :
+                embeddings.get(0).getDimensions();
+    }
+
+    /**
+     * Write the label of the node.
+     *
+     * @param writer        the writer
+     * @param node          the node
+     * @param spaceStrategy the space handling strategy
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeLabel(BufferedWriter writer, Object node, SpaceStrategy spaceStrategy) throws IOException {
+        writer.write(label(node, spaceStrategy));
+    }
+
+    /**
+     * Get the label of the node handling the spaces in it.
+     *
+     * @param node          the node
+     * @param spaceStrategy the space handling strategy
+     * @return the label
+     */
+    private static String label(Object node, SpaceStrategy spaceStrategy) {
+        final var label = node.toString();
+
+        if (label.contains(" ")) {
+            switch (spaceStrategy) {
+                case FAIL:
+                    throw new IllegalStateException("node has spaces: " + label);
+                case REPLACE:
+                    return SPACES.matcher(label).replaceAll("_");
+                default:
+                    break;
+            }
         }
+
+        return label;
     }
 }
@@ -18,6 +18,13 @@
 package org.nlpub.watset.cli;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -28,4 +35,28 @@ public class ApplicationTest {
         assertEquals(Application.ParseStatus.EMPTY_BUT_VERSION, app.parse("-v"));
         app.run();
     }
+
+    @Test
+    public void testCacheWithoutSeed(@TempDir Path directory) throws IOException {
+        final var input = Files.writeString(directory.resolve("graph.tsv"), "a\tb\t1\nb\tc\t1\na\tc\t1\nc\td\t1\n");
+        final var cache = directory.resolve("cache");
+
+        for (final var mode : new String[]{"fastrp", "spectral"}) {
+            for (int run = 0; run < 2; run++) {
+                final var app = new Application();
+                final var output = directory.resolve(mode + run + ".w2v");
+
+                assertEquals(Application.ParseStatus.COMMAND, app.parse("-i", input.toString(), "-o", output.toString(),
+                        "embed", "-k", "2", "-m", mode, "--landmarks", "3", "--cache", cache.toString()));
+                app.run();
+            }
+
+            // The randomized embeddings are seeded by default, so the second run reuses the cache entry of the first one
+            assertEquals(Files.readString(directory.resolve(mode + "0.w2v")), Files.readString(directory.resolve(mode + "1.w2v")));
+        }
+
+        try (final Stream<Path> entries = Files.list(cache)) {
+            assertEquals(2, entries.collect(Collectors.toList()).size());
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.util.ClusteringAlgorithmProvider;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EdgelessClusteringTest {
+    private final static List<Graph<String, DefaultWeightedEdge>> GRAPHS = List.of(
+            edgeless(), edgeless("a"), edgeless("a", "b", "c"));
+
+    private static Graph<String, DefaultWeightedEdge> edgeless(String... nodes) {
+        return SimpleWeightedGraph.<String, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class).
+                addVertices(nodes).
+                build();
+    }
+
+    /**
+     * Check that the algorithm produces the clustering it declares for the edgeless graphs.
+     */
+    private static void assertDeclared(ClusteringAlgorithmBuilder<String, DefaultWeightedEdge, ?> builder) {
+        final var edgeless = builder.getEdgelessClustering();
+
+        assertTrue(edgeless.isKnown());
+
+        for (final var graph : GRAPHS) {
+            final var expected = edgeless.cluster(graph.vertexSet()).getClusters();
+            final var actual = builder.apply(graph).getClustering().getClusters();
+
+            assertEquals(new HashSet<>(expected), new HashSet<Set<String>>(actual));
+            assertEquals(expected.size(), actual.size());
+        }
+    }
+
+    @Test
+    public void testTrivial() {
+        assertDeclared(EmptyClustering.builder());
+        assertDeclared(TogetherClustering.builder());
+        assertDeclared(SingletonClustering.builder());
+        assertDeclared(ComponentsClustering.builder());
+    }
+
+    @Test
+    public void testChineseWhispers() {
+        assertDeclared(ChineseWhispers.<String, DefaultWeightedEdge>builder().setRandom(new Random(1337)));
+    }
+
+    @Test
+    public void testMarkovClustering() {
+        assertDeclared(MarkovClustering.builder());
+    }
+
+    @Test
+    public void testMaxMax() {
+        // MaxMax rejects the isolated nodes, so it has to be run
+        assertEquals(EdgelessClustering.UNKNOWN, MaxMax.builder().getEdgelessClustering());
+    }
+
+    @Test
+    public void testProvider() {
+        for (final var algorithm : List.of("empty", "together", "singleton", "components", "cw")) {
+            assertDeclared(new ClusteringAlgorithmProvider<>(algorithm, Map.of(), new JDKRandomGenerator(1337)));
+        }
+
+        assertEquals(EdgelessClustering.UNKNOWN, new ClusteringAlgorithmProvider<>("maxmax", Map.of(), null).getEdgelessClustering());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.nlpub.watset.graph.ParallelMultiKMeansClustererTest.BLOBS;
+import static org.nlpub.watset.graph.ParallelMultiKMeansClustererTest.toSets;
+
+public class EmbeddingMatrixTest {
+    private final static EmbeddingMatrix<String> MATRIX = new EmbeddingMatrix<>(List.of("a", "b", "c"),
+            new double[]{1, 2, 3, 4, 5, 6}, 2);
+
+    private static EmbeddingMatrix<Integer> pack(List<NodeEmbedding<Integer>> embeddings) {
+        final int k = embeddings.get(0).getDimensions();
+        final var data = new double[embeddings.size() * k];
+
+        for (int i = 0; i < embeddings.size(); i++) {
+            System.arraycopy(embeddings.get(i).getPoint(), 0, data, i * k, k);
+        }
+
+        return new EmbeddingMatrix<>(embeddings.stream().map(NodeEmbedding::get).collect(Collectors.toList()), data, k);
+    }
+
+    @Test
+    public void testViews() {
+        assertEquals(3, MATRIX.size());
+        assertEquals(2, MATRIX.getDimensions());
+        assertEquals("b", MATRIX.get(1).get());
+        assertEquals(4, MATRIX.get(1).getCoordinate(1));
+        assertEquals(5, MATRIX.getEntry(2, 0));
+        assertArrayEquals(new double[]{5, 6}, MATRIX.get(2).getPoint());
+        assertEquals(new NodeEmbedding<>("c", new double[]{5, 6}), MATRIX.get(2));
+        assertNotEquals(new NodeEmbedding<>("a", new double[]{5, 6}), MATRIX.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> MATRIX.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> MATRIX.get(0).getCoordinate(2));
+    }
+
+    @Test
+    public void testPointIsCopied() {
+        final var view = MATRIX.get(0);
+        final var point = view.getPoint();
+        assertSame(point, view.getPoint());
+
+        point[0] = 100;
+        assertEquals(1, MATRIX.getEntry(0, 0));
+    }
+
+    @Test
+    public void testMismatch() {
+        assertThrows(IllegalArgumentException.class, () -> new EmbeddingMatrix<>(List.of("a", "b"), new double[3], 2));
+        assertThrows(IllegalArgumentException.class, () -> new EmbeddingMatrix<>(List.of("a"), new double[0], 0));
+    }
+
+    @Test
+    public void testClusterers() {
+        final var matrix = pack(BLOBS);
+
+        assertEquals(toSets(new HamerlyKMeansClusterer<NodeEmbedding<Integer>>(4, -1, new JDKRandomGenerator(0)).cluster(BLOBS)),
+                toSets(new HamerlyKMeansClusterer<NodeEmbedding<Integer>>(4, -1, new JDKRandomGenerator(0)).cluster(matrix)));
+
+        assertEquals(toSets(new MiniBatchKMeansClusterer<NodeEmbedding<Integer>>(4, 64, 50, new JDKRandomGenerator(0)).cluster(BLOBS)),
+                toSets(new MiniBatchKMeansClusterer<NodeEmbedding<Integer>>(4, 64, 50, new JDKRandomGenerator(0)).cluster(matrix)));
+
+        final var initializer = new KMeansParallelInitializer();
+        final var first = initializer.initialize(BLOBS, 4, new JDKRandomGenerator(3));
+        final var second = initializer.initialize(matrix, 4, new JDKRandomGenerator(3));
+        IntStream.range(0, 4).forEach(c -> assertArrayEquals(first[c], second[c]));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.nlpub.watset.graph.ParallelMultiKMeansClustererTest.BLOBS;
+
+public class HamerlyKMeansClustererTest {
+    private static double[][] copy(double[][] centers) {
+        return Arrays.stream(centers).map(double[]::clone).toArray(double[][]::new);
+    }
+
+    /**
+     * Plain Lloyd's algorithm with the same handling of empty clusters.
+     */
+    private static int[] lloyd(List<NodeEmbedding<Integer>> points, double[][] centers) {
+        final var labels = new int[points.size()];
+
+        for (int i = 0; i < labels.length; i++) labels[i] = KMeans.nearest(points.get(i).getPoint(), centers);
+
+        while (true) {
+            for (int j = 0; j < centers.length; j++) {
+                final var sum = new double[centers[j].length];
+                int count = 0;
+
+                for (int i = 0; i < labels.length; i++) {
+                    if (labels[i] != j) continue;
+                    for (int d = 0; d < sum.length; d++) sum[d] += points.get(i).getPoint()[d];
+                    count++;
+                }
+
+                if (count == 0) continue;
+                for (int d = 0; d < sum.length; d++) sum[d] /= count;
+                centers[j] = sum;
+            }
+
+            boolean changed = false;
+
+            for (int i = 0; i < labels.length; i++) {
+                final int label = KMeans.nearest(points.get(i).getPoint(), centers);
+                changed |= label != labels[i];
+                labels[i] = label;
+            }
+
+            if (!changed) return labels;
+        }
+    }
+
+    @Test
+    public void testSameAsLloyd() {
+        final var points = ParallelMultiKMeansClustererTest.blobs(new double[][]{{0, 0, 0}, {3, 0, 0}, {0, 3, 0}, {0, 0, 3}}, 250, new Random(1));
+        final var clusterer = new HamerlyKMeansClusterer<NodeEmbedding<Integer>>(12, -1, new JDKRandomGenerator(0));
+
+        for (int seed = 0; seed < 5; seed++) {
+            final var centers = new KMeansPlusPlusInitializer().initialize(points, 12, new JDKRandomGenerator(seed));
+            final var expected = copy(centers);
+            final var labels = lloyd(points, expected);
+
+            final var clusters = clusterer.cluster(points, centers);
+            final var actual = new int[points.size()];
+
+            for (final var cluster : clusters) {
+                final int label = KMeans.nearest(cluster.getCenter().getPoint(), expected);
+                assertArrayEquals(expected[label], cluster.getCenter().getPoint(), 1e-9);
+                for (final var point : cluster.getPoints()) actual[point.get()] = label;
+            }
+
+            assertArrayEquals(labels, actual);
+        }
+    }
+
+    @Test
+    public void testClustering() {
+        final var clusterer = new HamerlyKMeansClusterer<NodeEmbedding<Integer>>(4, -1, new JDKRandomGenerator(1337));
+        final var clusters = clusterer.cluster(BLOBS);
+
+        assertEquals(4, clusters.size());
+
+        for (final var cluster : clusters) {
+            final int blob = cluster.getPoints().get(0).get() / 50;
+            assertTrue(cluster.getPoints().stream().allMatch(p -> p.get() / 50 == blob));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KMeansParallelInitializerTest {
+    private final static KMeansInitializer INITIALIZER = new KMeansParallelInitializer();
+
+    private final static List<NodeEmbedding<Integer>> FAR_BLOBS = ParallelMultiKMeansClustererTest.blobs(
+            new double[][]{{0, 0}, {100, 0}, {0, 100}, {100, 100}}, 50, new Random(0));
+
+    @Test
+    public void testSeparatedCenters() {
+        final var centers = INITIALIZER.initialize(FAR_BLOBS, 4, new JDKRandomGenerator(1337));
+        assertEquals(4, centers.length);
+
+        final var blobs = Arrays.stream(centers).
+                map(center -> (center[0] > 50 ? 1 : 0) + (center[1] > 50 ? 2 : 0)).
+                collect(Collectors.toSet());
+
+        assertEquals(4, blobs.size());
+    }
+
+    @Test
+    public void testDeterminism() {
+        final var first = INITIALIZER.initialize(ParallelMultiKMeansClustererTest.BLOBS, 10, new JDKRandomGenerator(7));
+        final var second = INITIALIZER.initialize(ParallelMultiKMeansClustererTest.BLOBS, 10, new JDKRandomGenerator(7));
+
+        for (int i = 0; i < first.length; i++) assertArrayEquals(first[i], second[i]);
+    }
+
+    @Test
+    public void testUndersampled() {
+        // A single round with little oversampling samples fewer than k candidates on separated data
+        final var initializer = new KMeansParallelInitializer(1, 0.01);
+
+        for (int seed = 0; seed < 20; seed++) {
+            final var centers = initializer.initialize(FAR_BLOBS, 4, new JDKRandomGenerator(seed));
+            assertEquals(4, centers.length);
+
+            final var blobs = Arrays.stream(centers).
+                    map(center -> (center[0] > 50 ? 1 : 0) + (center[1] > 50 ? 2 : 0)).
+                    collect(Collectors.toSet());
+
+            assertEquals(4, blobs.size());
+        }
+    }
+
+    @Test
+    public void testDuplicates() {
+        final var points = List.of(new NodeEmbedding<>(0, new double[]{1, 1}), new NodeEmbedding<>(1, new double[]{1, 1}),
+                new NodeEmbedding<>(2, new double[]{1, 1}));
+        final var centers = INITIALIZER.initialize(points, 3, new JDKRandomGenerator(0));
+        assertEquals(3, centers.length);
+        assertTrue(Arrays.stream(centers).allMatch(center -> center[0] == 1 && center[1] == 1));
+    }
+
+    @Test
+    public void testClusterer() {
+        final var clusterer = new HamerlyKMeansClusterer<NodeEmbedding<Integer>>(4, -1, INITIALIZER, new JDKRandomGenerator(1337));
+        final var clusters = clusterer.cluster(FAR_BLOBS);
+        assertEquals(4, clusters.size());
+        assertTrue(clusters.stream().allMatch(cluster -> cluster.getPoints().size() == 50));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.util.ProcessLimiter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.nonNull;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MarkovClusteringExternalBatchTest {
+    static Path path() {
+        final var env = System.getenv("MCL");
+        assumeTrue(nonNull(env));
+
+        final var path = Path.of(env);
+        assumeTrue(path.toFile().canExecute());
+
+        return path;
+    }
+
+    @Test
+    public void testClustering() {
+        final var batch = new MarkovClusteringExternalBatch<String, DefaultWeightedEdge>(path(), MarkovClusteringExternal.Builder.R, 1);
+
+        final var bipartite = batch.apply(Fixtures.BIPARTITE);
+        final var mcl = batch.apply(Fixtures.MCL_GRAPH);
+
+        assertEquals(2, bipartite.getClustering().getNumberClusters());
+        assertEquals(1, mcl.getClustering().getNumberClusters());
+    }
+
+    @Test
+    public void testEdgeless() {
+        final var graph = SimpleWeightedGraph.<String, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class).
+                addVertices("a", "b").
+                build();
+
+        final var batch = new MarkovClusteringExternalBatch<String, DefaultWeightedEdge>(Path.of("mcl"), MarkovClusteringExternal.Builder.R, 1);
+        final var clustering = batch.apply(graph).getClustering();
+
+        assertEquals(Set.of(Set.of("a"), Set.of("b")), Set.copyOf(clustering.getClusters()));
+    }
+
+    @Test
+    public void testParts() {
+        final var batch = new MarkovClusteringExternalBatch<String, DefaultWeightedEdge>(Path.of("mcl"), MarkovClusteringExternal.Builder.R, 1,
+                MarkovClusteringExternalBatch.SIZE, MarkovClusteringExternal.Format.ABC, new ProcessLimiter(2, 2));
+
+        final var algorithms = new ArrayList<ClusteringAlgorithm<String>>();
+
+        for (int i = 0; i < 5; i++) {
+            final var graph = SimpleWeightedGraph.<String, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class).
+                    addVertices("a" + i, "b" + i).
+                    build();
+
+            algorithms.add(batch.apply(graph));
+        }
+
+        // The graphs are distributed among two parts in the round-robin order and are mapped back
+        for (int i = 4; i >= 0; i--) {
+            assertEquals(Set.of(Set.of("a" + i), Set.of("b" + i)), Set.copyOf(algorithms.get(i).getClustering().getClusters()));
+        }
+    }
+
+    @Test
+    public void testUnion() {
+        final var edgeless = SimpleWeightedGraph.<String, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class).
+                addVertices("x").
+                build();
+
+        final var union = MarkovClusteringExternalBatch.Union.of(List.of(Fixtures.BIPARTITE, edgeless, Fixtures.MCL_GRAPH));
+        final var graph = union.getGraph();
+        final var nodes = List.copyOf(new TreeSet<>(graph.vertexSet()));
+        final int bipartite = Fixtures.BIPARTITE.vertexSet().size();
+
+        assertEquals(bipartite + 1 + Fixtures.MCL_GRAPH.vertexSet().size(), graph.vertexSet().size());
+        assertEquals(Fixtures.BIPARTITE.edgeSet().size() + Fixtures.MCL_GRAPH.edgeSet().size(), graph.edgeSet().size());
+
+        // The stub puts the first two nodes of the bipartite graph together and omits the rest of the nodes
+        final var clustering = new IndexedClustering<>(nodes, new int[]{0, 2}, new int[]{0, 1});
+        final var split = union.split(clustering);
+
+        assertEquals(3, split.size());
+        assertEquals(bipartite - 1, split.get(0).getNumberClusters());
+        assertTrue(split.get(0).getClusters().contains(Set.of(Fixtures.BIPARTITE.vertexSet().stream().limit(2).toArray(String[]::new))));
+        assertEquals(List.of(Set.of("x")), split.get(1).getClusters());
+        assertEquals(Fixtures.MCL_GRAPH.vertexSet(), split.get(2).getClusters().stream().flatMap(Set::stream).collect(Collectors.toSet()));
+        assertTrue(split.get(2).getClusters().stream().allMatch(cluster -> cluster.size() == 1));
+
+        // A cluster spanning two graphs means that they were not disjoint
+        final var spanning = new IndexedClustering<>(nodes, new int[]{0, 2}, new int[]{0, bipartite});
+        assertThrows(IllegalStateException.class, () -> union.split(spanning));
+    }
+}
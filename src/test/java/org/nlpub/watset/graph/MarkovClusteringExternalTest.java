@@ -48,6 +48,16 @@ public class MarkovClusteringExternalTest {
         assertEquals(2, clustering.getNumberClusters());
     }
 
+    @Test
+    public void testNativeClustering() {
+        final var mcl = MarkovClusteringExternal.<String, DefaultWeightedEdge>builder().
+                setPath(path).
+                setFormat(MarkovClusteringExternal.Format.NATIVE).
+                apply(Fixtures.BIPARTITE);
+        final var clustering = mcl.getClustering();
+        assertEquals(2, clustering.getNumberClusters());
+    }
+
     @Test
     public void testClustering() {
         final var mcl = MarkovClusteringExternal.<String, DefaultWeightedEdge>builder().setPath(path).apply(Fixtures.MCL_GRAPH);
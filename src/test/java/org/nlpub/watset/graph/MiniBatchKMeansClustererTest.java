@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.nlpub.watset.graph.ParallelMultiKMeansClustererTest.BLOBS;
+
+public class MiniBatchKMeansClustererTest {
+    @Test
+    public void testClustering() {
+        final var clusterer = new MiniBatchKMeansClusterer<NodeEmbedding<Integer>>(4, 32, 50, new JDKRandomGenerator(1337));
+        final var clusters = clusterer.cluster(BLOBS);
+
+        assertEquals(4, clusters.size());
+
+        for (final var cluster : clusters) {
+            final int blob = cluster.getPoints().get(0).get() / 50;
+            assertTrue(cluster.getPoints().stream().allMatch(p -> p.get() / 50 == blob));
+            assertEquals(50, cluster.getPoints().size());
+        }
+    }
+
+    @Test
+    public void testNoIterations() {
+        final var clusterer = new MiniBatchKMeansClusterer<NodeEmbedding<Integer>>(4, 32, 0, new JDKRandomGenerator(1337));
+        assertEquals(BLOBS.size(), clusterer.cluster(BLOBS).stream().mapToInt(c -> c.getPoints().size()).sum());
+    }
+}
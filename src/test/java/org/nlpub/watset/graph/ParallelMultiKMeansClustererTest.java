@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.graph;
+
+import org.apache.commons.math3.ml.clustering.CentroidCluster;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.Clusterer;
+import org.apache.commons.math3.ml.clustering.KMeansPlusPlusClusterer;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelMultiKMeansClustererTest {
+    public static final List<NodeEmbedding<Integer>> BLOBS = blobs(new double[][]{{0, 0}, {10, 0}, {0, 10}, {10, 10}}, 50, new Random(0));
+
+    public static List<NodeEmbedding<Integer>> blobs(double[][] centers, int size, Random random) {
+        final var points = new ArrayList<NodeEmbedding<Integer>>(centers.length * size);
+
+        for (final var center : centers) {
+            for (int i = 0; i < size; i++) {
+                final var point = new double[center.length];
+                for (int j = 0; j < center.length; j++) point[j] = center[j] + random.nextGaussian();
+                points.add(new NodeEmbedding<>(points.size(), point));
+            }
+        }
+
+        return points;
+    }
+
+    public static <T extends NodeEmbedding<Integer>> Set<Set<Integer>> toSets(List<CentroidCluster<T>> clusters) {
+        return clusters.stream().
+                map(cluster -> cluster.getPoints().stream().map(NodeEmbedding::get).collect(Collectors.toSet())).
+                collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testClustering() {
+        final var clusterer = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(4, -1, 8, 4, new JDKRandomGenerator(1337));
+        final var clusters = clusterer.cluster(BLOBS);
+
+        assertEquals(4, clusters.size());
+
+        for (final var cluster : clusters) {
+            final int blob = cluster.getPoints().get(0).get() / 50;
+            assertTrue(cluster.getPoints().stream().allMatch(p -> p.get() / 50 == blob));
+        }
+    }
+
+    @Test
+    public void testDeterminism() {
+        final var first = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(3, -1, 8, 4, new JDKRandomGenerator(1)).cluster(BLOBS);
+        final var second = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(3, -1, 8, 2, new JDKRandomGenerator(1)).cluster(BLOBS);
+
+        assertEquals(toSets(first), toSets(second));
+    }
+
+    @Test
+    public void testSingleThread() {
+        final var caller = Thread.currentThread();
+        final var inline = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(r -> {
+            final var clusterer = new KMeansPlusPlusClusterer<NodeEmbedding<Integer>>(3, -1, new EuclideanDistance(), r);
+
+            return new Clusterer<>(new EuclideanDistance()) {
+                @Override
+                public List<? extends Cluster<NodeEmbedding<Integer>>> cluster(Collection<NodeEmbedding<Integer>> points) {
+                    assertSame(caller, Thread.currentThread());
+                    return clusterer.cluster(points);
+                }
+            };
+        }, 8, 1, new JDKRandomGenerator(1));
+
+        final var parallel = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(3, -1, 8, 4, new JDKRandomGenerator(1));
+
+        assertEquals(toSets(parallel.cluster(BLOBS)), toSets(inline.cluster(BLOBS)));
+    }
+
+    @Test
+    public void testExecutor() {
+        final var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final var clusterer = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(
+                    r -> new KMeansPlusPlusClusterer<>(3, -1, new EuclideanDistance(), r), 8, 2, new JDKRandomGenerator(1), executor);
+
+            final var first = clusterer.cluster(BLOBS);
+            assertFalse(executor.isShutdown());
+
+            final var second = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(3, -1, 8, 4, new JDKRandomGenerator(1)).cluster(BLOBS);
+            assertEquals(toSets(first), toSets(second));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMaterialize() {
+        final var matrix = new EmbeddingMatrix<>(List.of("a", "b", "c"), new double[]{0, 0, 0, 1, 10, 10}, 2);
+        assertNotSame(matrix.get(0), matrix.get(0));
+
+        final var lloyd = new KMeansPlusPlusClusterer<NodeEmbedding<String>>(2);
+        final var views = new ArrayList<>(ParallelMultiKMeansClusterer.materialize(matrix, lloyd));
+        assertEquals(matrix, views);
+        assertSame(views.get(0), ParallelMultiKMeansClusterer.materialize(views, lloyd).iterator().next());
+        assertSame(views.get(0).getPoint(), views.get(0).getPoint());
+
+        final var hamerly = new HamerlyKMeansClusterer<NodeEmbedding<String>>(2, -1, new KMeansPlusPlusInitializer(), new JDKRandomGenerator(1));
+        assertSame(matrix, ParallelMultiKMeansClusterer.materialize(matrix, hamerly));
+
+        final var clusters = new ParallelMultiKMeansClusterer<NodeEmbedding<String>>(2, -1, 4, 1, new JDKRandomGenerator(1)).cluster(matrix);
+        assertEquals(Set.of(Set.of("a", "b"), Set.of("c")), clusters.stream().
+                map(cluster -> cluster.getPoints().stream().map(NodeEmbedding::get).collect(Collectors.toSet())).
+                collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testRowMajor() {
+        final var points = new AtomicInteger();
+        final var nodes = IntStream.range(0, BLOBS.size()).boxed().collect(Collectors.toList());
+        final var data = new double[BLOBS.size() * 2];
+
+        for (int i = 0; i < BLOBS.size(); i++) System.arraycopy(BLOBS.get(i).getPoint(), 0, data, i * 2, 2);
+
+        // The matrix counts the coordinates copied from its views
+        final var matrix = new EmbeddingMatrix<>(nodes, data, 2) {
+            @Override
+            public NodeEmbedding<Integer> get(int index) {
+                return new NodeEmbedding<>(nodes.get(index), data, index * 2, 2) {
+                    @Override
+                    public double[] getPoint() {
+                        points.incrementAndGet();
+                        return super.getPoint();
+                    }
+                };
+            }
+        };
+
+        final var initializer = new KMeansPlusPlusInitializer();
+
+        final var hamerly = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(
+                r -> new HamerlyKMeansClusterer<>(4, -1, initializer, r), 4, 2, new JDKRandomGenerator(1));
+        assertEquals(4, hamerly.cluster(matrix).size());
+
+        final var minibatch = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(
+                r -> new MiniBatchKMeansClusterer<>(4, 32, 50, initializer, r), 4, 2, new JDKRandomGenerator(1));
+        assertEquals(4, minibatch.cluster(matrix).size());
+
+        // Both variants read the backing array of the matrix instead of the coordinates of its views
+        assertEquals(0, points.get());
+
+        new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(4, -1, 4, 2, new JDKRandomGenerator(1)).cluster(matrix);
+        assertTrue(points.get() > 0);
+    }
+
+    @Test
+    public void testBestSSE() {
+        final var random = new JDKRandomGenerator(42);
+        final var multi = new ParallelMultiKMeansClusterer<NodeEmbedding<Integer>>(
+                r -> new KMeansPlusPlusClusterer<>(7, -1, new EuclideanDistance(), r), 10, 3, random);
+
+        final double best = ParallelMultiKMeansClusterer.computeSSE(multi.cluster(BLOBS));
+
+        final var single = new KMeansPlusPlusClusterer<NodeEmbedding<Integer>>(7, -1, new EuclideanDistance(), new JDKRandomGenerator(42));
+        assertTrue(best <= ParallelMultiKMeansClusterer.computeSSE(single.cluster(BLOBS)) * 1.05);
+    }
+}
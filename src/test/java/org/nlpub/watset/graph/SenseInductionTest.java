@@ -20,9 +20,11 @@ package org.nlpub.watset.graph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SenseInductionTest {
     private final static Random random = new Random(1337);
@@ -36,4 +38,31 @@ public class SenseInductionTest {
         final var senses = senseInduction.contexts("bank");
         assertEquals(2, senses.size());
     }
+
+    /**
+     * A local algorithm that must never be run.
+     */
+    private final static ClusteringAlgorithmBuilder<String, DefaultWeightedEdge, ChineseWhispers<String, DefaultWeightedEdge>> failing = graph -> {
+        throw new IllegalStateException("local");
+    };
+
+    @Test
+    public void testTrivial() {
+        final var inducer = new SenseInduction<>(Fixtures.TWO_COMPONENTS, failing, EdgelessClustering.SINGLETONS);
+
+        assertFalse(inducer.isTrivial("a"));
+        assertTrue(inducer.isTrivial("b"));
+
+        assertEquals(List.of(Set.of("a")), inducer.clustering("b").getClusters());
+        assertEquals(Set.of(Set.of("b"), Set.of("c")), Set.copyOf(inducer.clustering("a").getClusters()));
+    }
+
+    @Test
+    public void testUnknown() {
+        final var inducer = new SenseInduction<>(Fixtures.TWO_COMPONENTS, failing);
+
+        assertEquals(EdgelessClustering.UNKNOWN, inducer.getEdgelessClustering());
+        assertFalse(inducer.isTrivial("b"));
+        assertThrows(IllegalStateException.class, () -> inducer.clustering("b"));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.graph;
+
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.util.IndexedSense;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SenseInventoryTest {
+    private static ClusteringAlgorithm.Clustering<String> clustering(List<Set<String>> clusters) {
+        return new ClusteringAlgorithm.ClusteringImpl<>(clusters);
+    }
+
+    @Test
+    public void testSenses() {
+        final var inventory = new SenseInventory<>(Fixtures.TWO_COMPONENTS);
+
+        inventory.setSenses("a", clustering(List.of(Set.of("b"), Set.of("c"))));
+        inventory.setSenses("b", clustering(List.of(Set.of("a"))));
+        inventory.setSenses("c", clustering(List.of(Set.of("a"))));
+        inventory.setSenses("d", clustering(List.of(Set.of("e"))));
+        inventory.setSenses("e", clustering(List.of(Set.of("d"))));
+
+        assertEquals(6, inventory.getSenseCount());
+
+        final int a = inventory.indexOf("a");
+        assertEquals(2, inventory.getSenseCount(a));
+        assertEquals(0, inventory.getSense(a, inventory.indexOf("b")));
+        assertEquals(1, inventory.getSense(a, inventory.indexOf("c")));
+        assertEquals(-1, inventory.getSense(a, inventory.indexOf("d")));
+        assertEquals(new IndexedSense<>("a", 1), inventory.toSense(a, 1));
+
+        assertEquals(Map.of(
+                "a", Map.of("b", 0, "c", 1),
+                "b", Map.of("a", 0),
+                "c", Map.of("a", 0),
+                "d", Map.of("e", 0),
+                "e", Map.of("d", 0)), inventory.asMap());
+    }
+
+    @Test
+    public void testPlaceholderSense() {
+        final var inventory = new SenseInventory<>(Fixtures.TWO_COMPONENTS);
+
+        inventory.setSenses("d", clustering(List.of()));
+
+        assertEquals(1, inventory.getSenseCount(inventory.indexOf("d")));
+        assertEquals(Map.of(), inventory.asMap().get("d"));
+        assertNull(inventory.asMap().get("z"));
+    }
+
+    @Test
+    public void testNonNeighbor() {
+        final var inventory = new SenseInventory<>(Fixtures.TWO_COMPONENTS);
+
+        assertThrows(IllegalStateException.class, () -> inventory.setSenses("a", clustering(List.of(Set.of("d")))));
+    }
+
+    @Test
+    public void testAlreadyInInventory() {
+        final var inventory = new SenseInventory<>(Fixtures.TWO_COMPONENTS);
+
+        inventory.setSenses("b", clustering(List.of(Set.of("a"))));
+
+        assertThrows(IllegalStateException.class, () -> inventory.setSenses("b", clustering(List.of(Set.of("a")))));
+        assertThrows(IllegalArgumentException.class, () -> inventory.indexOf("z"));
+    }
+}
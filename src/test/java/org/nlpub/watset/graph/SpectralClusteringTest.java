@@ -23,6 +23,10 @@ import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.junit.jupiter.api.Test;
+import org.nlpub.watset.util.Matrices;
+
+import java.util.HashSet;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -44,4 +48,34 @@ public class SpectralClusteringTest {
         final var clustering = spectral.getClustering();
         assertEquals(4, clustering.getNumberClusters());
     }
+
+    @Test
+    public void testNystrom() {
+        final var spectral = BUILDER.setClusterer(KMEANS).setLandmarks(3).setRandom(new Random(0)).apply(Fixtures.MCL_GRAPH);
+        final var clustering = spectral.getClustering();
+        assertEquals(2, clustering.getNumberClusters());
+    }
+
+    @Test
+    public void testNystromDeterminism() {
+        final var graph = Fixtures.WORD_GRAPH;
+
+        final var first = SpectralClustering.<String, DefaultWeightedEdge>builder().setK(2).setLandmarks(3).
+                setClusterer(new KMeansPlusPlusClusterer<>(2, -1, new EuclideanDistance(), new JDKRandomGenerator(1337))).
+                apply(graph).getClustering();
+
+        final var second = SpectralClustering.<String, DefaultWeightedEdge>builder().setK(2).setLandmarks(3).
+                setClusterer(new KMeansPlusPlusClusterer<>(2, -1, new EuclideanDistance(), new JDKRandomGenerator(1337))).
+                apply(graph).getClustering();
+
+        // The landmarks are sampled with the generator seeded by default
+        assertEquals(new HashSet<>(first.getClusters()), new HashSet<>(second.getClusters()));
+    }
+
+    @Test
+    public void testLanczos() {
+        final var spectral = BUILDER.setClusterer(KMEANS).setEigensolver(Matrices.Eigensolver.LANCZOS).apply(Fixtures.MCL_GRAPH);
+        final var clustering = spectral.getClustering();
+        assertEquals(2, clustering.getNumberClusters());
+    }
 }
@@ -17,13 +17,21 @@
 
 package org.nlpub.watset.graph;
 
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.junit.jupiter.api.Test;
+import org.nlpub.watset.util.AdjacencyIndex;
+import org.nlpub.watset.util.IndexedSense;
 import org.nlpub.watset.util.Sense;
 
 import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class WatsetTest {
     private final static Random random = new Random(1337);
@@ -39,4 +47,96 @@ public class WatsetTest {
         final var clustering = watset.getClustering();
         assertEquals(2, clustering.getNumberClusters());
     }
+
+    @Test
+    public void testSenseGraph() {
+        final var clustering = watset.getClustering();
+        final var senseGraph = clustering.getSenseGraph();
+        final var inventory = ((WatsetClustering.WatsetClusteringImpl<String>) clustering).getInventory();
+
+        assertEquals(Fixtures.WORD_GRAPH.edgeSet().size(), senseGraph.edgeSet().size());
+
+        for (final var edge : senseGraph.edgeSet()) {
+            final var source = senseGraph.getEdgeSource(edge);
+            final var target = senseGraph.getEdgeTarget(edge);
+
+            assertEquals(Fixtures.WORD_GRAPH.getEdgeWeight(Fixtures.WORD_GRAPH.getEdge(source.get(), target.get())), senseGraph.getEdgeWeight(edge));
+            assertEquals(inventory.get(source.get()).get(target.get()), ((IndexedSense<String>) source).getSense());
+            assertEquals(inventory.get(target.get()).get(source.get()), ((IndexedSense<String>) target).getSense());
+        }
+    }
+
+    @Test
+    public void testExecutor() {
+        final var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final var clustering = Watset.<String, DefaultWeightedEdge>builder().
+                    setLocal(TogetherClustering.builder()).
+                    setGlobal(ComponentsClustering.builder()).
+                    setThreads(2).
+                    setExecutor(executor).
+                    apply(Fixtures.WORD_GRAPH).
+                    getClustering();
+
+            assertEquals(1, clustering.getNumberClusters());
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIndexPool() {
+        final var plain = Executors.newFixedThreadPool(2);
+        final var forkJoin = new ForkJoinPool(2);
+
+        try {
+            for (final var executor : new Executor[]{plain, forkJoin}) {
+                final var first = new AtomicReference<Thread>();
+                final var last = new AtomicReference<Thread>();
+
+                final var inducer = new SenseInduction<String, DefaultWeightedEdge>(Fixtures.WORD_GRAPH, TogetherClustering.builder()) {
+                    @Override
+                    public AdjacencyIndex<String, DefaultWeightedEdge> getIndex() {
+                        first.compareAndSet(null, Thread.currentThread());
+                        return super.getIndex();
+                    }
+                };
+
+                final ClusteringAlgorithmBuilder<Sense<String>, DefaultWeightedEdge, ClusteringAlgorithm<Sense<String>>> global = graph -> {
+                    last.set(Thread.currentThread());
+                    return ComponentsClustering.<Sense<String>, DefaultWeightedEdge>builder().apply(graph);
+                };
+
+                new Watset.Implementation<>(Fixtures.WORD_GRAPH, inducer, global, 2, executor).compute();
+
+                // The index and the global clustering use a fork-join pool other than the common one
+                assertTrue(first.get() instanceof ForkJoinWorkerThread);
+                final var pool = ((ForkJoinWorkerThread) first.get()).getPool();
+                assertNotSame(ForkJoinPool.commonPool(), pool);
+                if (executor instanceof ForkJoinPool) assertSame(executor, pool);
+
+                assertTrue(last.get() instanceof ForkJoinWorkerThread);
+                assertSame(pool, ((ForkJoinWorkerThread) last.get()).getPool());
+            }
+        } finally {
+            plain.shutdownNow();
+            forkJoin.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        final ClusteringAlgorithmBuilder<String, DefaultWeightedEdge, ChineseWhispers<String, DefaultWeightedEdge>> broken = graph -> {
+            throw new IllegalStateException("local");
+        };
+
+        final var failing = Watset.<String, DefaultWeightedEdge>builder().
+                setLocal(broken).
+                setGlobal(global).
+                apply(Fixtures.WORD_GRAPH);
+
+        assertEquals("local", assertThrows(IllegalStateException.class, failing::getClustering).getMessage());
+    }
 }
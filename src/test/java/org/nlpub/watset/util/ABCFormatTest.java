@@ -19,11 +19,15 @@ package org.nlpub.watset.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -50,4 +54,42 @@ public class ABCFormatTest {
             assertTrue(graph.edgeSet().isEmpty());
         }
     }
+
+    @Test
+    public void testWrite() throws IOException, URISyntaxException {
+        final var stream = new ByteArrayOutputStream();
+
+        try (final var edges = Files.lines(Path.of(EDGE_TSV.toURI()))) {
+            final var graph = ABCFormat.parse(edges);
+
+            try (final var writer = new EdgeListWriter(stream)) {
+                ABCFormat.write(graph, writer);
+            }
+
+            final var lines = stream.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+            final var written = ABCFormat.parse(lines.stream());
+
+            assertEquals(graph.edgeSet().size(), lines.size());
+            assertEquals(graph.vertexSet(), written.vertexSet());
+
+            for (final var edge : graph.edgeSet()) {
+                final var source = graph.getEdgeSource(edge);
+                final var target = graph.getEdgeTarget(edge);
+
+                assertEquals(graph.getEdgeWeight(edge), written.getEdgeWeight(written.getEdge(source, target)));
+            }
+        }
+    }
+
+    @Test
+    public void testWriteLabel() throws IOException {
+        final var graph = ABCFormat.parse(Stream.of("a\tb\t1", "b\tc\t0.5"));
+        final var stream = new ByteArrayOutputStream();
+
+        try (final var writer = new EdgeListWriter(stream)) {
+            ABCFormat.write(graph, writer, node -> node + "#1");
+        }
+
+        assertEquals("a#1\tb#1\t1\nb#1\tc#1\t0.5\n", stream.toString(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.Fixtures;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClusteringAlgorithmProviderTest {
+    @Test
+    public void testSpectralInitialization() {
+        final var graph = Fixtures.TWO_COMPONENTS;
+
+        for (final var kmeans : new String[]{"hamerly", "minibatch"}) {
+            final var provider = new ClusteringAlgorithmProvider<String, DefaultWeightedEdge>("spectral",
+                    Map.of("k", "2", "kmeans", kmeans, "init", "parallel"), new JDKRandomGenerator(1337));
+            assertEquals(2, provider.apply(graph).getClustering().getNumberClusters());
+        }
+
+        final var lloyd = new ClusteringAlgorithmProvider<String, DefaultWeightedEdge>("spectral",
+                Map.of("k", "2", "kmeans", "lloyd", "init", "parallel"), new JDKRandomGenerator(1337));
+        assertThrows(IllegalArgumentException.class, () -> lloyd.apply(graph));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EdgeListWriterTest {
+    private final static Random random = new Random(1337);
+
+    private static String format(double value) {
+        final var bytes = new byte[EdgeListWriter.DOUBLE_LENGTH];
+        final int length = EdgeListWriter.formatDouble(bytes, 0, value);
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testWriteEdge() throws IOException {
+        final var stream = new ByteArrayOutputStream();
+
+        try (final var writer = new EdgeListWriter(stream, EdgeListWriter.DOUBLE_LENGTH)) {
+            writer.writeEdge(0, Integer.MAX_VALUE, 1);
+            writer.writeEdge(-1, Integer.MIN_VALUE, 0.131);
+            writer.writeEdge("bank", "берег", -2.5);
+        }
+
+        assertEquals("0\t2147483647\t1\n-1\t-2147483648\t0.131\nbank\tберег\t-2.5\n",
+                stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFormatDouble() {
+        assertEquals("0", format(0));
+        assertEquals("1", format(1));
+        assertEquals("0.5", format(.5));
+        assertEquals("0.1", format(.1));
+        assertEquals("-0.555", format(-.555));
+        assertEquals("123456.789", format(123456.789));
+        assertEquals("1.0E-10", format(1e-10));
+        assertEquals("1.0E20", format(1e20));
+        assertEquals("NaN", format(Double.NaN));
+        assertEquals("-Infinity", format(Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    public void testFormatDoubleRoundTrip() {
+        for (int i = 0; i < 100000; i++) {
+            final var value = (random.nextDouble() - .5) * Math.pow(10, random.nextInt(20) - 10);
+            assertEquals(value, Double.parseDouble(format(value)));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.Fixtures;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EgoNetworkTest {
+    private static <V, E> void assertEgoNetworks(Graph<V, E> graph) {
+        final var index = new AdjacencyIndex<>(graph);
+
+        for (final var node : graph.vertexSet()) {
+            final var expected = Neighbors.graph(graph, node);
+            final var ego = index.egoNetwork(node);
+
+            assertEquals(node, ego.getTarget());
+            assertEquals(expected.vertexSet(), new HashSet<>(ego.vertexSet()));
+            assertEquals(expected.edgeSet(), new HashSet<>(ego.edgeSet()));
+            assertEquals(expected.edgeSet().size(), ego.edgeSet().size());
+            assertFalse(ego.containsVertex(node));
+
+            for (final var vertex : expected.vertexSet()) {
+                assertTrue(ego.containsVertex(vertex));
+                assertEquals(expected.edgesOf(vertex), new HashSet<>(ego.edgesOf(vertex)));
+                assertEquals(expected.degreeOf(vertex), ego.degreeOf(vertex));
+
+                for (final var other : expected.vertexSet()) {
+                    assertEquals(expected.getEdge(vertex, other), ego.getEdge(vertex, other));
+                }
+            }
+
+            for (final var edge : expected.edgeSet()) {
+                assertTrue(ego.containsEdge(edge));
+                assertEquals(graph.getEdgeWeight(edge), ego.getEdgeWeight(edge));
+            }
+        }
+    }
+
+    @Test
+    public void testWordGraph() {
+        assertEgoNetworks(Fixtures.WORD_GRAPH);
+    }
+
+    @Test
+    public void testHub() {
+        // The hub has more neighbors than the neighborhoods of the leaves, so its row is searched instead of scanned
+        final var graph = SimpleWeightedGraph.<String, DefaultWeightedEdge>createBuilder(DefaultWeightedEdge.class).
+                addEdge("hub", "a", 1).addEdge("hub", "b", 2).addEdge("hub", "c", 3).addEdge("hub", "d", 4).
+                addEdge("a", "b", 5).addEdge("b", "c", 6).addEdge("c", "e", 7).
+                build();
+
+        assertEgoNetworks(graph);
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        final var ego = new AdjacencyIndex<>(Fixtures.WORD_GRAPH).egoNetwork("bank");
+        assertThrows(UnsupportedOperationException.class, () -> ego.addVertex("bank"));
+        assertThrows(UnsupportedOperationException.class, () -> ego.removeEdge(ego.edgeSet().iterator().next()));
+        assertThrows(IllegalArgumentException.class, () -> ego.edgesOf("bank"));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.GnpRandomGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.Fixtures;
+
+import java.util.HashSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EgoNetworksTest {
+    private static <V, E> void assertSameEgoNetworks(Graph<V, E> graph) {
+        assertSameEgoNetworks(graph, EgoNetworks.CAPACITY);
+    }
+
+    private static <V, E> void assertSameEgoNetworks(Graph<V, E> graph, int capacity) {
+        final var index = new AdjacencyIndex<>(graph);
+        final var egos = new EgoNetworks<>(index, capacity);
+
+        for (final var node : graph.vertexSet()) {
+            final var expected = index.egoNetwork(node);
+            final var actual = egos.get(node);
+
+            assertEquals(expected.edgeSet().size(), egos.getEdgeCount(index.indexOf(node)));
+            assertEquals(expected.vertexSet(), actual.vertexSet());
+            assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+            assertEquals(new HashSet<>(expected.edgeSet()), new HashSet<>(actual.edgeSet()));
+
+            for (final var vertex : expected.vertexSet()) {
+                assertEquals(new HashSet<>(expected.edgesOf(vertex)), new HashSet<>(actual.edgesOf(vertex)));
+
+                for (final var other : expected.vertexSet()) {
+                    assertEquals(expected.getEdge(vertex, other), actual.getEdge(vertex, other));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFixtures() {
+        assertSameEgoNetworks(Fixtures.WORD_GRAPH);
+        assertSameEgoNetworks(Fixtures.MAXMAX_GRAPH);
+        assertSameEgoNetworks(Fixtures.TWO_COMPONENTS);
+    }
+
+    @Test
+    public void testRandomGraph() {
+        final var graph = new SimpleWeightedGraph<>(SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(60, 0.2, 1337).generateGraph(graph);
+        assertSameEgoNetworks(graph);
+    }
+
+    @Test
+    public void testCapacity() {
+        final var graph = new SimpleWeightedGraph<>(SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(60, 0.2, 1337).generateGraph(graph);
+
+        final var index = new AdjacencyIndex<>(graph);
+        final int entries = 2 * IntStream.range(0, index.size()).map(new EgoNetworks<>(index)::getEdgeCount).sum();
+
+        assertTrue(new EgoNetworks<>(index, entries).isStored());
+        assertFalse(new EgoNetworks<>(index, entries - 1).isStored());
+        assertThrows(IllegalArgumentException.class, () -> new EgoNetworks<>(index, -1));
+
+        // The neighborhood graphs that do not fit are built one by one
+        assertSameEgoNetworks(graph, 0);
+        assertSameEgoNetworks(Fixtures.WORD_GRAPH, 0);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.jgrapht.util.VertexToIntegerMapping;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nlpub.watset.graph.EmbeddingMatrix;
+import org.nlpub.watset.graph.Fixtures;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmbeddingCacheTest {
+    @TempDir
+    Path directory;
+
+    private final static VertexToIntegerMapping<String> MAPPING = Graphs.getVertexToIntegerMapping(Fixtures.TWO_COMPONENTS);
+
+    private static EmbeddingMatrix<String> embed() {
+        return new FastRandomProjection(8, 0).embed(Fixtures.TWO_COMPONENTS, MAPPING);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final var cache = new EmbeddingCache(directory);
+        final var expected = embed();
+
+        cache.put("key", expected);
+
+        final var actual = cache.get("key", MAPPING.getIndexList());
+        assertNotNull(actual);
+        assertEquals(expected.getDimensions(), actual.getDimensions());
+        assertEquals(expected.getNodes(), actual.getNodes());
+        assertArrayEquals(expected.getData(), actual.getData());
+
+        assertNull(cache.get("missing", MAPPING.getIndexList()));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        final var cache = new EmbeddingCache(directory);
+        final var calls = new AtomicInteger();
+
+        final var first = cache.computeIfAbsent(Fixtures.TWO_COMPONENTS, MAPPING, "fastrp", () -> {
+            calls.incrementAndGet();
+            return embed();
+        });
+
+        final var second = cache.computeIfAbsent(Fixtures.TWO_COMPONENTS, MAPPING, "fastrp", () -> {
+            calls.incrementAndGet();
+            return embed();
+        });
+
+        assertEquals(1, calls.get());
+        assertArrayEquals(first.getData(), second.getData());
+    }
+
+    @Test
+    public void testKey() {
+        final var key = EmbeddingCache.key(Fixtures.TWO_COMPONENTS, MAPPING, "spectral k=2");
+        assertEquals(64, key.length());
+        assertEquals(key, EmbeddingCache.key(Fixtures.TWO_COMPONENTS, MAPPING, "spectral k=2"));
+        assertNotEquals(key, EmbeddingCache.key(Fixtures.TWO_COMPONENTS, MAPPING, "spectral k=3"));
+
+        final var graph = new SimpleWeightedGraph<String, DefaultWeightedEdge>(DefaultWeightedEdge.class);
+        Graphs.addGraph(graph, Fixtures.TWO_COMPONENTS);
+        final var edge = graph.edgeSet().iterator().next();
+        graph.setEdgeWeight(edge, graph.getEdgeWeight(edge) + 1);
+        assertNotEquals(key, EmbeddingCache.key(graph, MAPPING, "spectral k=2"));
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+        final var cache = new EmbeddingCache(directory);
+        cache.put("key", embed());
+
+        final var path = directory.resolve("key.emb");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        assertNull(cache.get("key", MAPPING.getIndexList()));
+    }
+}
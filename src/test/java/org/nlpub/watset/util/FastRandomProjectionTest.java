@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.jgrapht.util.VertexToIntegerMapping;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.Fixtures;
+import org.nlpub.watset.graph.NodeEmbedding;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FastRandomProjectionTest {
+    @Test
+    public void testEmbedding() {
+        final var graph = Fixtures.TWO_COMPONENTS;
+        final var mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        final var embeddings = new FastRandomProjection(16, 0).embed(graph, mapping);
+
+        assertEquals(graph.vertexSet().size(), embeddings.size());
+        assertEquals(graph.vertexSet(), embeddings.stream().map(NodeEmbedding::get).collect(Collectors.toSet()));
+        assertTrue(embeddings.stream().allMatch(e -> e.getPoint().length == 16));
+    }
+
+    @Test
+    public void testDeterminism() {
+        final var graph = Fixtures.WORD_GRAPH;
+        final var mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        final var first = new FastRandomProjection(8, new double[]{1, 1}, 0.5, 42).embed(graph, mapping);
+        final var second = new FastRandomProjection(8, new double[]{1, 1}, 0.5, 42).embed(graph, mapping);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i).getPoint(), second.get(i).getPoint());
+        }
+    }
+
+    @Test
+    public void testNormalization() {
+        // Every hop is normalized to the unit length per node
+        final var graph = Fixtures.WORD_GRAPH;
+        final var mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        final var embeddings = new FastRandomProjection(64, new double[]{1}, 0, 1).embed(graph, mapping);
+
+        for (final var embedding : embeddings) {
+            double norm = 0;
+            for (final double value : embedding.getPoint()) norm += value * value;
+            assertEquals(1, norm, 1e-9);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LanczosEigenDecompositionTest {
+    private static final Array2DRowRealMatrix MCL_LAPLACIAN_SYM = new Array2DRowRealMatrix(MatricesTest.MCL_LAPLACIAN_SYM.getData());
+
+    private static Array2DRowRealMatrix randomSymmetric(int n, Random random) {
+        final var matrix = new Array2DRowRealMatrix(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                final var value = random.nextGaussian();
+                matrix.setEntry(i, j, value);
+                matrix.setEntry(j, i, value);
+            }
+        }
+
+        return matrix;
+    }
+
+    @Test
+    public void testEigenvalues() {
+        final var matrix = randomSymmetric(100, new Random(0));
+        final var expected = new EigenDecomposition(matrix).getRealEigenvalues();
+        final var lanczos = new LanczosEigenDecomposition(matrix, 5);
+
+        assertArrayEquals(Arrays.copyOf(expected, 5), lanczos.getRealEigenvalues(), 1e-8);
+    }
+
+    @Test
+    public void testEigenvectors() {
+        final var matrix = randomSymmetric(100, new Random(1));
+        final var lanczos = new LanczosEigenDecomposition(matrix, 3);
+        final var vectors = lanczos.getV();
+        final var values = lanczos.getRealEigenvalues();
+
+        assertEquals(100, vectors.getRowDimension());
+        assertEquals(3, vectors.getColumnDimension());
+
+        for (int i = 0; i < 3; i++) {
+            final var vector = vectors.getColumnVector(i);
+            assertEquals(1, vector.getNorm(), 1e-8);
+            assertEquals(0, matrix.operate(vector).subtract(vector.mapMultiply(values[i])).getNorm(), 1e-6);
+        }
+    }
+
+    @Test
+    public void testLaplacian() {
+        final var lanczos = new LanczosEigenDecomposition(MCL_LAPLACIAN_SYM, 2);
+        final var expected = new EigenDecomposition(MCL_LAPLACIAN_SYM).getRealEigenvalues();
+
+        assertEquals(expected[0], lanczos.getRealEigenvalues()[0], 1e-8);
+        assertEquals(expected[1], lanczos.getRealEigenvalues()[1], 1e-8);
+    }
+
+    @Test
+    public void testDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new LanczosEigenDecomposition(MCL_LAPLACIAN_SYM, 5));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.Fixtures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.nlpub.watset.util.MatricesTest.*;
+
+public class LaplacianOperatorTest {
+    private static void assertOperator(RealMatrix expected, LaplacianOperator operator) {
+        final var identity = MatrixUtils.createRealIdentityMatrix(expected.getColumnDimension());
+
+        for (int i = 0; i < identity.getColumnDimension(); i++) {
+            final var column = operator.operate(identity.getColumnVector(i));
+            assertEquals(0, column.subtract(expected.getColumnVector(i)).getNorm(), 1e-3);
+        }
+    }
+
+    @Test
+    public void testLaplacian() {
+        final var laplacian = LaplacianOperator.of(Fixtures.MCL_GRAPH, MCL_MAPPING);
+        assertEquals(4, laplacian.getRowDimension());
+        assertEquals(8, laplacian.getNonZeroEntries());
+        assertOperator(MCL_LAPLACIAN, laplacian);
+    }
+
+    @Test
+    public void testSymmetric() {
+        assertOperator(MCL_LAPLACIAN_SYM, LaplacianOperator.symmetric(Fixtures.MCL_GRAPH, MCL_MAPPING));
+    }
+
+    @Test
+    public void testOperateArrays() {
+        final var laplacian = LaplacianOperator.of(Fixtures.MCL_GRAPH, MCL_MAPPING);
+        final var x = new double[]{1, 2, 3, 4};
+        final var y = new double[4];
+
+        laplacian.operate(x, y);
+
+        assertArrayEquals(MCL_LAPLACIAN.operate(x), y, 1e-9);
+        assertArrayEquals(y, laplacian.operateTranspose(new ArrayRealVector(x)).toArray(), 1e-9);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MCLFormatTest {
+    private final static List<String> NODES = List.of("a", "b", "c", "d", "e");
+
+    private final static List<Set<String>> CLUSTERS = List.of(Set.of("a", "c", "e"), Set.of("b"), Set.of("d"));
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testParseLines() throws IOException {
+        final var clustering = MCLFormat.parseLines(stream("0\t2\t4\n1\n3"), NODES);
+        assertEquals(3, clustering.getNumberClusters());
+        assertEquals(CLUSTERS, List.copyOf(clustering.getClusters()));
+    }
+
+    @Test
+    public void testParseNative() throws IOException {
+        final var clustering = MCLFormat.parseNative(stream("(mclheader\nmcltype matrix\ndimensions 5x3\n)\n" +
+                "(mclmatrix\nbegin\n0    0 2\n     4 $\n1    1:1.5 $\n2    3$\n)\n"), NODES);
+        assertEquals(3, clustering.getNumberClusters());
+        assertEquals(CLUSTERS, List.copyOf(clustering.getClusters()));
+    }
+
+    @Test
+    public void testParseUnknownNode() {
+        assertThrows(IllegalStateException.class, () -> MCLFormat.parseLines(stream("0\t5\n"), NODES));
+    }
+}
@@ -19,11 +19,19 @@ package org.nlpub.watset.util;
 
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.jgrapht.util.SupplierUtil;
 import org.jgrapht.util.VertexToIntegerMapping;
 import org.junit.jupiter.api.Test;
 import org.nlpub.watset.graph.Fixtures;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MatricesTest {
     public static final VertexToIntegerMapping<String> MCL_MAPPING = new VertexToIntegerMapping<>(Fixtures.MCL_GRAPH.vertexSet());
@@ -53,4 +61,68 @@ public class MatricesTest {
         final var laplacianSym = Matrices.buildSymmetricLaplacian(degree, adjacency);
         assertEquals(0, (MCL_LAPLACIAN_SYM.subtract(laplacianSym)).getNorm(), 1e-3);
     }
+
+    @Test
+    public void testGraphLaplacian() {
+        final var laplacianSym = Matrices.buildSymmetricLaplacian(Fixtures.MCL_GRAPH, MCL_MAPPING);
+        assertEquals(0, (MCL_LAPLACIAN_SYM.subtract(laplacianSym)).getNorm(), 1e-3);
+    }
+
+    @Test
+    public void testNystromAllLandmarks() {
+        final var expected = Matrices.computeSpectralEmbedding(Fixtures.MCL_GRAPH, MCL_MAPPING, 2);
+        final var actual = Matrices.computeNystromSpectralEmbedding(Fixtures.MCL_GRAPH, MCL_MAPPING, 2, 4, new Random(0));
+
+        // With all the nodes as landmarks, the embeddings coincide up to the signs of the dimensions
+        for (int j = 0; j < 2; j++) {
+            int largest = 0;
+
+            for (int i = 1; i < expected.size(); i++) {
+                if (Math.abs(expected.get(i).getPoint()[j]) > Math.abs(expected.get(largest).getPoint()[j])) largest = i;
+            }
+
+            final double sign = Math.signum(expected.get(largest).getPoint()[j] * actual.get(largest).getPoint()[j]);
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).get(), actual.get(i).get());
+                assertEquals(expected.get(i).getPoint()[j], sign * actual.get(i).getPoint()[j], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testNystrom() {
+        final var graph = Fixtures.WORD_GRAPH;
+        final var mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        final var embedding = Matrices.computeNystromSpectralEmbedding(graph, mapping, 2, 3, new Random(0));
+
+        assertEquals(graph.vertexSet().size(), embedding.size());
+        assertTrue(embedding.stream().allMatch(e -> e.getPoint().length == 2));
+        assertThrows(IllegalArgumentException.class, () -> Matrices.computeNystromSpectralEmbedding(graph, mapping, 2, 1, new Random(0)));
+    }
+
+    @Test
+    public void testNystromSparse() {
+        // Most nodes of a long cycle are many hops away from the few landmarks
+        final var graph = new SimpleWeightedGraph<>(SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new RingGraphGenerator<Integer, DefaultWeightedEdge>(200).generateGraph(graph);
+
+        final var mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        final var embedding = Matrices.computeNystromSpectralEmbedding(graph, mapping, 2, 3, new Random(0));
+
+        for (final var node : embedding) {
+            assertEquals(1, Math.hypot(node.getCoordinate(0), node.getCoordinate(1)), 1e-9);
+        }
+    }
+
+    @Test
+    public void testSparseLaplacian() {
+        final var laplacian = Matrices.buildSparseSymmetricLaplacian(Fixtures.MCL_GRAPH, MCL_MAPPING);
+        final var identity = MatrixUtils.createRealIdentityMatrix(MCL_MAPPING.getIndexList().size());
+
+        for (int i = 0; i < identity.getColumnDimension(); i++) {
+            final var column = laplacian.operate(identity.getColumnVector(i));
+            assertEquals(0, column.subtract(MCL_LAPLACIAN_SYM.getColumnVector(i)).getNorm(), 1e-3);
+        }
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.EmbeddingMatrix;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NpyFormatTest {
+    private final static EmbeddingMatrix<String> EMBEDDINGS = new EmbeddingMatrix<>(List.of("a", "b c", "d"),
+            new double[]{1, -2, 0.5, 3, 0.1, -0.25}, 2);
+
+    private static ByteBuffer write(NpyFormat.DataType type) throws IOException {
+        final var stream = new ByteArrayOutputStream();
+        NpyFormat.write(stream, EMBEDDINGS, type);
+        return ByteBuffer.wrap(stream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test
+    public void testHeader() {
+        final var header = NpyFormat.header(3, 2, NpyFormat.DataType.FLOAT64);
+        assertEquals(0, header.length % 64);
+        assertEquals((byte) 0x93, header[0]);
+        assertEquals("NUMPY", new String(header, 1, 5, StandardCharsets.US_ASCII));
+        assertEquals(header.length - 10, ByteBuffer.wrap(header, 8, 2).order(ByteOrder.LITTLE_ENDIAN).getShort());
+        assertEquals('\n', header[header.length - 1]);
+
+        final var dictionary = new String(header, 10, header.length - 10, StandardCharsets.US_ASCII).trim();
+        assertEquals("{'descr': '<f8', 'fortran_order': False, 'shape': (3, 2), }", dictionary);
+    }
+
+    @Test
+    public void testFloat64() throws IOException {
+        final var buffer = write(NpyFormat.DataType.FLOAT64);
+        final int offset = NpyFormat.header(3, 2, NpyFormat.DataType.FLOAT64).length;
+        assertEquals(offset + 6 * Double.BYTES, buffer.limit());
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(EMBEDDINGS.getData()[i], buffer.getDouble(offset + i * Double.BYTES));
+        }
+    }
+
+    @Test
+    public void testFloat32() throws IOException {
+        final var buffer = write(NpyFormat.DataType.FLOAT32);
+        final int offset = NpyFormat.header(3, 2, NpyFormat.DataType.FLOAT32).length;
+        assertEquals(offset + 6 * Float.BYTES, buffer.limit());
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals((float) EMBEDDINGS.getData()[i], buffer.getFloat(offset + i * Float.BYTES));
+        }
+    }
+
+    @Test
+    public void testVocabulary() throws IOException {
+        final var output = new StringWriter();
+
+        try (final var writer = new BufferedWriter(output)) {
+            NpyFormat.writeVocabulary(writer, EMBEDDINGS);
+        }
+
+        assertEquals("a\nb c\nd\n", output.toString());
+    }
+}
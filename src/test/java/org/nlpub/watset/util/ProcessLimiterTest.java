@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessLimiterTest {
+    @Test
+    public void testThreads() throws InterruptedException {
+        final var limiter = new ProcessLimiter(2, 5);
+
+        try (final var first = limiter.acquire(1)) {
+            assertEquals(1, first.getThreads());
+
+            try (final var second = limiter.acquire(8)) {
+                assertEquals(2, second.getThreads());
+            }
+        }
+
+        try (final var permit = limiter.acquire(8)) {
+            assertEquals(2, permit.getThreads());
+        }
+    }
+
+    @Test
+    public void testConcurrent() {
+        final var limiter = new ProcessLimiter(2, 4);
+
+        // The first process does not take the whole budget, so the second one starts without waiting
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (final var first = limiter.acquire(8); final var second = limiter.acquire(8)) {
+                assertEquals(2, first.getThreads());
+                assertEquals(2, second.getThreads());
+            }
+        });
+    }
+
+    @Test
+    public void testExhausted() throws InterruptedException {
+        final var limiter = new ProcessLimiter(3, 2);
+        final var permit = limiter.acquire(8);
+        final var other = limiter.acquire(8);
+        assertEquals(1, permit.getThreads());
+        assertEquals(1, other.getThreads());
+
+        final var granted = new AtomicInteger();
+
+        final var thread = new Thread(() -> {
+            try (final var third = limiter.acquire(8)) {
+                granted.set(third.getThreads());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        thread.start();
+        thread.join(100);
+        assertEquals(Thread.State.WAITING, thread.getState());
+
+        permit.close();
+        thread.join();
+        other.close();
+        assertEquals(1, granted.get());
+    }
+
+    @Test
+    public void testBudget() throws InterruptedException {
+        final int threads = 3;
+        final var limiter = new ProcessLimiter(4, threads);
+        final var used = new AtomicInteger();
+        final var exceeded = new AtomicBoolean();
+        final var workers = new ArrayList<Thread>();
+
+        for (int i = 0; i < 8; i++) {
+            final int requested = 1 + i % threads;
+
+            final var worker = new Thread(() -> {
+                for (int j = 0; j < 50; j++) {
+                    try (final var permit = limiter.acquire(requested)) {
+                        if (used.addAndGet(permit.getThreads()) > threads) exceeded.set(true);
+                        Thread.yield();
+                        used.addAndGet(-permit.getThreads());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+
+            workers.add(worker);
+            worker.start();
+        }
+
+        for (final var worker : workers) worker.join();
+
+        assertFalse(exceeded.get());
+        assertEquals(0, used.get());
+    }
+
+    @Test
+    public void testProcesses() throws InterruptedException {
+        final var limiter = new ProcessLimiter(1, 4);
+        final var permit = limiter.acquire(1);
+
+        final var thread = new Thread(() -> {
+            try (final var other = limiter.acquire(1)) {
+                assertEquals(1, other.getThreads());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        thread.start();
+        thread.join(100);
+        assertEquals(Thread.State.WAITING, thread.getState());
+
+        permit.close();
+        thread.join();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.RealLinearOperator;
+import org.apache.commons.math3.linear.RealVector;
+import org.jgrapht.util.VertexToIntegerMapping;
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.Fixtures;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomizedEigenDecompositionTest {
+    @Test
+    public void testLowRank() {
+        // A positive semi-definite matrix of rank 4 is recovered exactly
+        final var random = new Random(0);
+        final var factor = new Array2DRowRealMatrix(80, 4);
+
+        for (int i = 0; i < 80; i++) {
+            for (int j = 0; j < 4; j++) factor.setEntry(i, j, random.nextGaussian());
+        }
+
+        final var matrix = (Array2DRowRealMatrix) factor.multiply(factor.transpose());
+        final var expected = new EigenDecomposition(matrix).getRealEigenvalues();
+        final var randomized = new RandomizedEigenDecomposition(matrix, 3);
+
+        assertArrayEquals(Arrays.copyOf(expected, 3), randomized.getRealEigenvalues(), 1e-8);
+    }
+
+    @Test
+    public void testLaplacian() {
+        final var graph = Fixtures.WORD_GRAPH;
+        final var mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        final var laplacian = LaplacianOperator.symmetric(graph, mapping);
+        final var lanczos = new LanczosEigenDecomposition(laplacian, 2);
+        final var randomized = new RandomizedEigenDecomposition(laplacian, 2, 10, 4, new Random(0));
+
+        assertArrayEquals(lanczos.getRealEigenvalues(), randomized.getRealEigenvalues(), 1e-6);
+
+        final var vectors = randomized.getV();
+
+        for (int j = 0; j < 2; j++) {
+            final var vector = vectors.getColumnVector(j);
+            assertEquals(1, vector.getNorm(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testZero() {
+        // The vanishing columns are redrawn, so the basis never contains NaN
+        final var randomized = new RandomizedEigenDecomposition(new Array2DRowRealMatrix(10, 10), 3, 5, 2, new Random(0));
+
+        assertArrayEquals(new double[3], randomized.getRealEigenvalues(), 1e-12);
+
+        for (final var row : randomized.getV().getData()) {
+            for (final var value : row) assertTrue(Double.isFinite(value));
+        }
+    }
+
+    @Test
+    public void testTooLarge() {
+        final var operator = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return Integer.MAX_VALUE / 2;
+            }
+
+            @Override
+            public int getColumnDimension() {
+                return Integer.MAX_VALUE / 2;
+            }
+
+            @Override
+            public RealVector operate(RealVector x) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> new RandomizedEigenDecomposition(operator, 2, 10, 0, new Random(0)));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.nlpub.watset.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SplitMixTest {
+    @Test
+    public void testUniform() {
+        double sum = 0;
+
+        for (long i = 0; i < 10000; i++) {
+            final double u = SplitMix.uniform(42, i);
+            assertTrue(u >= 0 && u < 1);
+            assertEquals(u, SplitMix.uniform(42, i));
+            sum += u;
+        }
+
+        assertEquals(0.5, sum / 10000, 0.02);
+        assertNotEquals(SplitMix.uniform(42, 0), SplitMix.uniform(43, 0));
+    }
+}
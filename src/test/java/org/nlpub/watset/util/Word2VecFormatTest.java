@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Dmitry Ustalov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nlpub.watset.util;
+
+import org.junit.jupiter.api.Test;
+import org.nlpub.watset.graph.EmbeddingMatrix;
+import org.nlpub.watset.graph.NodeEmbedding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Word2VecFormatTest {
+    private final static EmbeddingMatrix<String> EMBEDDINGS = new EmbeddingMatrix<>(List.of("a", "b c"),
+            new double[]{1, -0.5, 0.1, 1e-12}, 2);
+
+    private static String text(List<NodeEmbedding<String>> embeddings, Word2VecFormat.SpaceStrategy strategy) throws IOException {
+        final var stream = new ByteArrayOutputStream();
+        Word2VecFormat.writeText(stream, embeddings, strategy);
+        return stream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testText() throws IOException {
+        assertEquals("2 2\na 1 -0.5\nb_c 0.1 1.0E-12\n", text(EMBEDDINGS, Word2VecFormat.SpaceStrategy.REPLACE));
+        assertEquals("2 2\na 1 -0.5\nb c 0.1 1.0E-12\n", text(List.copyOf(EMBEDDINGS), Word2VecFormat.SpaceStrategy.IGNORE));
+        assertThrows(IllegalStateException.class, () -> text(EMBEDDINGS, Word2VecFormat.SpaceStrategy.FAIL));
+    }
+
+    @Test
+    public void testTextRoundTrip() throws IOException {
+        final var random = new Random(0);
+        final int n = 5000, k = 7;
+        final var data = IntStream.range(0, n * k).mapToDouble(i -> random.nextGaussian()).toArray();
+        final var nodes = IntStream.range(0, n).mapToObj(i -> "node" + i).collect(Collectors.toList());
+
+        final var lines = text(new EmbeddingMatrix<>(nodes, data, k), Word2VecFormat.SpaceStrategy.FAIL).split("\n");
+        assertEquals(n + 1, lines.length);
+        assertEquals(n + " " + k, lines[0]);
+
+        for (int i = 0; i < n; i++) {
+            final var fields = lines[i + 1].split(" ");
+            assertEquals(nodes.get(i), fields[0]);
+
+            for (int j = 0; j < k; j++) {
+                assertEquals(data[i * k + j], Double.parseDouble(fields[j + 1]));
+            }
+        }
+    }
+
+    @Test
+    public void testBinary() throws IOException {
+        final var stream = new ByteArrayOutputStream();
+        Word2VecFormat.writeBinary(stream, EMBEDDINGS, Word2VecFormat.SpaceStrategy.REPLACE);
+
+        final var bytes = stream.toByteArray();
+        final var header = "2 2\na ".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(header, Arrays.copyOf(bytes, header.length));
+
+        final var buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(1f, buffer.getFloat(header.length));
+        assertEquals(-0.5f, buffer.getFloat(header.length + 4));
+        assertEquals('\n', bytes[header.length + 8]);
+        assertEquals("b_c ", new String(bytes, header.length + 9, 4, StandardCharsets.US_ASCII));
+        assertEquals(0.1f, buffer.getFloat(header.length + 13));
+        assertEquals(1e-12f, buffer.getFloat(header.length + 17));
+        assertEquals('\n', bytes[bytes.length - 1]);
+        assertEquals(header.length + 9 + 4 + 9, bytes.length);
+    }
+}